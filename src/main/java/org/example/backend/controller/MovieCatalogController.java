@@ -0,0 +1,49 @@
+package org.example.backend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.CursorPage;
+import org.example.backend.dto.MovieSummaryDTO;
+import org.example.backend.exception.ErrorResponse;
+import org.example.backend.exception.InvalidCursorException;
+import org.example.backend.service.MovieService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v2/movies")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Movie catalog", description = "Paginated movie catalog APIs")
+public class MovieCatalogController {
+
+    private final MovieService movieService;
+
+    @GetMapping
+    @Operation(summary = "Get active movies by page", description = "Retrieves one page of active movies in id order, with their genres and tags; the X-Next-Cursor header holds the 'after' value of the next page")
+    public ResponseEntity<List<MovieSummaryDTO>> getMovies(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
+        CursorPage<MovieSummaryDTO> page = movieService.getActiveMoviesPage(after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(ScreeningController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Cursor no válido",
+                ex.getMessage(),
+                LocalDateTime.now());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -4,11 +4,17 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.CursorPage;
 import org.example.backend.dto.MovieDTO;
 import org.example.backend.dto.MovieSearchResponse;
+import org.example.backend.dto.MovieSuggestionDTO;
+import org.example.backend.exception.ErrorResponse;
+import org.example.backend.exception.InvalidCursorException;
 import org.example.backend.model.Genre;
 import org.example.backend.model.Movie;
 import org.example.backend.repository.GenreRepository;
+import org.example.backend.service.MovieAutocompleteService;
+import org.example.backend.service.MovieCatalogService;
 import org.example.backend.service.MovieService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +22,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -29,6 +36,8 @@ public class MovieController {
     private static final Logger log = LoggerFactory.getLogger(MovieController.class);
 
     private final MovieService movieService;
+    private final MovieCatalogService movieCatalogService;
+    private final MovieAutocompleteService movieAutocompleteService;
     private final GenreRepository genreRepository;
 
     @PostMapping("/tmdb/{tmdbId}")
@@ -46,7 +55,7 @@ public class MovieController {
         try {
             List<Movie> movies = movieService.getAllActiveMovies();
             List<MovieDTO> movieDTOs = movies.stream()
-                    .map(this::convertToDTO)
+                    .map(MovieDTO::fromMovie)
                     .collect(Collectors.toList());
             return ResponseEntity.ok(movieDTOs);
         } catch (Exception e) {
@@ -75,6 +84,28 @@ public class MovieController {
         }
     }
 
+    @GetMapping("/search/local")
+    @Operation(summary = "Search local movies", description = "Ranked, typo-tolerant search by title, director, tags and description over the active movies in the catalog")
+    public ResponseEntity<List<MovieDTO>> searchLocalMovies(
+            @RequestParam String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
+        CursorPage<MovieDTO> page = movieService.searchLocalMovies(q, after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(ScreeningController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete movies", description = "Suggests the most popular active movies whose title, director or tags have a word starting with the given prefix")
+    public ResponseEntity<List<MovieSuggestionDTO>> autocompleteMovies(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(movieAutocompleteService.suggest(q, limit));
+    }
+
     @GetMapping("/genres")
     @Operation(summary = "Get all genres", description = "Retrieves a list of all available movie genres")
     public ResponseEntity<List<String>> getAllGenres() {
@@ -104,11 +135,8 @@ public class MovieController {
                 searchTerm, genres, duration, rating, timeFrame, sortBy);
         
         try {
-            List<Movie> filteredMovies = movieService.getFilteredMovies(searchTerm, genres, duration, rating, timeFrame, sortBy);
-            List<MovieDTO> movieDTOs = filteredMovies.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(movieDTOs);
+            return ResponseEntity.ok(
+                    movieCatalogService.filter(searchTerm, genres, duration, rating, timeFrame, sortBy));
         } catch (Exception e) {
             log.error("Error filtering movies: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
@@ -129,30 +157,13 @@ public class MovieController {
         }
     }
 
-    private MovieDTO convertToDTO(Movie movie) {
-        MovieDTO dto = new MovieDTO();
-        dto.setId(movie.getId());
-        dto.setTitle(movie.getTitle());
-        dto.setDescription(movie.getDescription());
-        dto.setDurationMinutes(movie.getDurationMinutes());
-        dto.setReleaseDate(movie.getReleaseDate());
-        dto.setPosterUrl(movie.getPosterUrl());
-        dto.setBackdropUrl(movie.getBackdropUrl());
-        dto.setRating(movie.getRating());
-        dto.setLanguage(movie.getLanguage());
-        dto.setDirector(movie.getDirector());
-        dto.setTrailerUrl(movie.getTrailerUrl());
-        dto.setTmdbId(movie.getTmdbId());
-        dto.setImdbId(movie.getImdbId());
-        dto.setPopularity(movie.getPopularity());
-        dto.setVoteAverage(movie.getVoteAverage());
-        dto.setVoteCount(movie.getVoteCount());
-
-        // Solo extraemos los nombres de los géneros
-        if (movie.getGenres() != null) {
-            movie.getGenres().forEach(genre -> dto.getGenreNames().add(genre.getName()));
-        }
-
-        return dto;
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Cursor no válido",
+                ex.getMessage(),
+                LocalDateTime.now());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 }
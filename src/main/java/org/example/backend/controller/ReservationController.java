@@ -4,11 +4,18 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.AutoReservationDTO;
 import org.example.backend.dto.ReservationCreateDTO;
 import org.example.backend.dto.SeatModificationDTO;
+import org.example.backend.exception.AdmissionRequiredException;
+import org.example.backend.exception.ErrorResponse;
+import org.example.backend.exception.SeatNotAvailableException;
 import org.example.backend.model.Reservation;
+import org.example.backend.model.ReservationHistory;
 import org.example.backend.service.ReservationService;
+import org.example.backend.service.WaitingRoomService;
 import org.example.backend.payload.response.MessageResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,6 +24,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +36,7 @@ import java.util.Optional;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final WaitingRoomService waitingRoomService;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -51,6 +60,14 @@ public class ReservationController {
         return ResponseEntity.ok(reservations);
     }
 
+    @GetMapping("/user/{userId}/history")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get reservation history by user", description = "Retrieves the live and archived reservations of a specific user, newest first (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<ReservationHistory>> getReservationHistoryByUser(@PathVariable Long userId) {
+        List<ReservationHistory> history = reservationService.getReservationHistoryByUser(userId);
+        return ResponseEntity.ok(history);
+    }
+
     @GetMapping("/screening/{screeningId}")
     @Operation(summary = "Get reservations by screening", description = "Retrieves all reservations for a specific screening", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<List<Reservation>> getReservationsByScreening(@PathVariable Long screeningId) {
@@ -67,13 +84,32 @@ public class ReservationController {
         return ResponseEntity.ok(reservations);
     }
 
+    @GetMapping("/user/history")
+    @Operation(summary = "Get current user's reservation history", description = "Retrieves the live and archived reservations of the authenticated user, newest first", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<ReservationHistory>> getCurrentUserReservationHistory() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        List<ReservationHistory> history = reservationService.getReservationHistoryByUsername(auth.getName());
+        return ResponseEntity.ok(history);
+    }
+
     @PostMapping
     @Operation(summary = "Create a reservation", description = "Creates a new reservation for a screening with selected seats", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<Reservation> createReservation(@Valid @RequestBody ReservationCreateDTO dto) {
+    public ResponseEntity<Reservation> createReservation(@Valid @RequestBody ReservationCreateDTO dto,
+            @RequestHeader(value = WaitingRoomService.ADMISSION_HEADER, required = false) String admissionToken) {
+        waitingRoomService.checkAdmission(dto.getScreeningId(), admissionToken);
         Reservation reservation = reservationService.createReservation(dto);
         return ResponseEntity.ok(reservation);
     }
 
+    @PostMapping("/auto")
+    @Operation(summary = "Reserve the best available seats", description = "Picks the best block of adjacent seats for the party size, centred in the room, and holds them in a new reservation", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Reservation> createAutoReservation(@Valid @RequestBody AutoReservationDTO dto,
+            @RequestHeader(value = WaitingRoomService.ADMISSION_HEADER, required = false) String admissionToken) {
+        waitingRoomService.checkAdmission(dto.getScreeningId(), admissionToken);
+        Reservation reservation = reservationService.createAutoReservation(dto);
+        return ResponseEntity.ok(reservation);
+    }
+
     @PutMapping("/{reservationId}/seats")
     @Operation(summary = "Modify seats in a reservation", description = "Modifies the seats associated with an existing reservation", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<Reservation> modifySeats(
@@ -107,4 +143,26 @@ public class ReservationController {
                     .body(new MessageResponse("Error retrieving reservation: " + e.getMessage()));
         }
     }
+
+    @ExceptionHandler(SeatNotAvailableException.class)
+    public ResponseEntity<ErrorResponse> handleSeatNotAvailable(SeatNotAvailableException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Asientos no disponibles",
+                ex.getMessage(),
+                LocalDateTime.now());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(AdmissionRequiredException.class)
+    public ResponseEntity<ErrorResponse> handleAdmissionRequired(AdmissionRequiredException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Sala de espera",
+                ex.getMessage(),
+                LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
 }
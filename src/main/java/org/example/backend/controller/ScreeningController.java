@@ -5,11 +5,14 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.BulkScreeningCreationDTO;
+import org.example.backend.dto.CursorPage;
 import org.example.backend.dto.ScreeningBasicDTO;
 import org.example.backend.dto.ScreeningCreationDTO;
 import org.example.backend.dto.ScreeningDateDTO;
 import org.example.backend.dto.ScreeningTimeDTO;
 import org.example.backend.exception.ErrorResponse;
+import org.example.backend.exception.InvalidCursorException;
 import org.example.backend.exception.ResourceNotFoundException;
 import org.example.backend.exception.RoomNotAvailableException;
 import org.example.backend.model.Screening;
@@ -31,20 +34,25 @@ import java.util.List;
 @Tag(name = "Screening", description = "Screening management APIs")
 public class ScreeningController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String PAGE_SIZE = "100";
+
     private final ScreeningService screeningService;
 
     @GetMapping
     @Operation(summary = "Get all screenings", description = "Retrieves a list of all screenings")
-    public ResponseEntity<List<Screening>> getAllScreenings() {
-        List<Screening> screenings = screeningService.getAllScreenings();
-        return ResponseEntity.ok(screenings);
+    public ResponseEntity<List<Screening>> getAllScreenings(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PAGE_SIZE) int limit) {
+        return page(screeningService.getAllScreenings(after, limit));
     }
 
     @GetMapping("/basic")
     @Operation(summary = "Get all screenings with basic info", description = "Retrieves a list of all screenings with only basic information")
-    public ResponseEntity<List<ScreeningBasicDTO>> getAllScreeningsBasic() {
-        List<ScreeningBasicDTO> screenings = screeningService.getAllScreeningsBasic();
-        return ResponseEntity.ok(screenings);
+    public ResponseEntity<List<ScreeningBasicDTO>> getAllScreeningsBasic(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PAGE_SIZE) int limit) {
+        return page(screeningService.getAllScreeningsBasic(after, limit));
     }
 
     @GetMapping("/{id}")
@@ -69,6 +77,14 @@ public class ScreeningController {
         return ResponseEntity.ok(screening);
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Create screenings in bulk", description = "Validates a batch of screenings, such as a week of showtimes, against the room schedules and each other, then creates them all at once (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<ScreeningBasicDTO>> createScreenings(@Valid @RequestBody BulkScreeningCreationDTO dto) {
+        List<ScreeningBasicDTO> screenings = screeningService.createScreenings(dto);
+        return ResponseEntity.ok(screenings);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update a screening", description = "Updates an existing screening (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
@@ -89,16 +105,20 @@ public class ScreeningController {
 
     @GetMapping("/movie/{movieId}")
     @Operation(summary = "Get screenings by movie", description = "Retrieves all screenings for a specific movie")
-    public ResponseEntity<List<Screening>> getScreeningsByMovie(@PathVariable Long movieId) {
-        List<Screening> screenings = screeningService.getScreeningsByMovie(movieId);
-        return ResponseEntity.ok(screenings);
+    public ResponseEntity<List<Screening>> getScreeningsByMovie(
+            @PathVariable Long movieId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PAGE_SIZE) int limit) {
+        return page(screeningService.getScreeningsByMovie(movieId, after, limit));
     }
 
     @GetMapping("/movie/{movieId}/basic")
     @Operation(summary = "Get basic screenings by movie", description = "Retrieves basic info of all screenings for a specific movie")
-    public ResponseEntity<List<ScreeningBasicDTO>> getScreeningsByMovieBasic(@PathVariable Long movieId) {
-        List<ScreeningBasicDTO> screenings = screeningService.getScreeningsByMovieBasic(movieId);
-        return ResponseEntity.ok(screenings);
+    public ResponseEntity<List<ScreeningBasicDTO>> getScreeningsByMovieBasic(
+            @PathVariable Long movieId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PAGE_SIZE) int limit) {
+        return page(screeningService.getScreeningsByMovieBasic(movieId, after, limit));
     }
 
     @GetMapping("/movie/{movieId}/dates")
@@ -130,41 +150,61 @@ public class ScreeningController {
 
     @GetMapping("/room/{roomId}")
     @Operation(summary = "Get screenings by room", description = "Retrieves all screenings for a specific room")
-    public ResponseEntity<List<Screening>> getScreeningsByRoom(@PathVariable Long roomId) {
-        List<Screening> screenings = screeningService.getScreeningsByRoom(roomId);
-        return ResponseEntity.ok(screenings);
+    public ResponseEntity<List<Screening>> getScreeningsByRoom(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PAGE_SIZE) int limit) {
+        return page(screeningService.getScreeningsByRoom(roomId, after, limit));
     }
 
     @GetMapping("/room/{roomId}/basic")
     @Operation(summary = "Get basic screenings by room", description = "Retrieves basic info of all screenings for a specific room")
-    public ResponseEntity<List<ScreeningBasicDTO>> getScreeningsByRoomBasic(@PathVariable Long roomId) {
-        List<ScreeningBasicDTO> screenings = screeningService.getScreeningsByRoomBasic(roomId);
-        return ResponseEntity.ok(screenings);
+    public ResponseEntity<List<ScreeningBasicDTO>> getScreeningsByRoomBasic(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PAGE_SIZE) int limit) {
+        return page(screeningService.getScreeningsByRoomBasic(roomId, after, limit));
     }
 
     @GetMapping("/date/{date}")
     @Operation(summary = "Get screenings by date", description = "Retrieves all screenings on a specific date")
     public ResponseEntity<List<Screening>> getScreeningsByDate(
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        List<Screening> screenings = screeningService.getScreeningsByDate(date);
-        return ResponseEntity.ok(screenings);
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PAGE_SIZE) int limit) {
+        return page(screeningService.getScreeningsByDate(date, after, limit));
     }
 
     @GetMapping("/date/{date}/basic")
     @Operation(summary = "Get basic screenings by date", description = "Retrieves basic info of all screenings on a specific date")
     public ResponseEntity<List<ScreeningBasicDTO>> getScreeningsByDateBasic(
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        List<ScreeningBasicDTO> screenings = screeningService.getScreeningsByDateBasic(date);
-        return ResponseEntity.ok(screenings);
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PAGE_SIZE) int limit) {
+        return page(screeningService.getScreeningsByDateBasic(date, after, limit));
     }
 
     @GetMapping("/time-range")
     @Operation(summary = "Get screenings by time range", description = "Retrieves all screenings within a specific time range")
     public ResponseEntity<List<Screening>> getScreeningsByTimeRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
-        List<Screening> screenings = screeningService.getScreeningsByTimeRange(startTime, endTime);
-        return ResponseEntity.ok(screenings);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PAGE_SIZE) int limit) {
+        return page(screeningService.getScreeningsByTimeRange(startTime, endTime, after, limit));
+    }
+
+    /**
+     * Lists are paginated by keyset: the body holds one page and, unless it is
+     * the last one, the X-Next-Cursor header holds the value to pass as
+     * {@code after} to get the next page.
+     */
+    private static <T> ResponseEntity<List<T>> page(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
@@ -186,4 +226,14 @@ public class ScreeningController {
                 LocalDateTime.now());
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Cursor no válido",
+                ex.getMessage(),
+                LocalDateTime.now());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
 }
@@ -3,16 +3,21 @@ package org.example.backend.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.example.backend.model.Reservation;
-import org.example.backend.model.Seat;
-import org.example.backend.model.SeatReservation;
-import org.example.backend.service.ReservationService;
-import org.example.backend.service.SeatService;
-import org.example.backend.service.ScreeningService;
+import org.example.backend.dto.SeatMapCompactDTO;
+import org.example.backend.exception.AdmissionRequiredException;
+import org.example.backend.exception.ErrorResponse;
+import org.example.backend.service.SeatInventoryService;
+import org.example.backend.service.SeatStreamService;
+import org.example.backend.service.WaitingRoomService;
+import org.example.backend.service.inventory.ScreeningSeatMap;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.HashMap;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,74 +29,46 @@ import java.util.stream.Collectors;
 @Tag(name = "Seats", description = "Seat management APIs")
 public class SeatController {
 
-    private final SeatService seatService;
-    private final ReservationService reservationService;
-    private final ScreeningService screeningService;
+    /**
+     * Media type of the compact seat map, selected through the Accept header.
+     */
+    public static final String SEAT_MAP_COMPACT_VALUE = "application/vnd.cinereserve.seatmap+json";
 
-    @GetMapping("/screening/{screeningId}")
+    private final SeatInventoryService seatInventoryService;
+    private final SeatStreamService seatStreamService;
+    private final WaitingRoomService waitingRoomService;
+
+    @GetMapping(value = "/screening/{screeningId}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get seats for a screening", description = "Retrieves all seats for a specific screening with their reservation status")
-    public ResponseEntity<List<Map<String, Object>>> getSeatsForScreening(@PathVariable Long screeningId) {
-        // Get the screening to find the room
-        var screening = screeningService.getScreeningById(screeningId);
-
-        // Get all seats in the room
-        List<Seat> roomSeats = seatService.findAll().stream()
-                .filter(seat -> seat.getRoom().getId().equals(screening.getRoom().getId()))
-                .collect(Collectors.toList());
-
-        // Get all reservations for this screening
-        List<Reservation> allScreeningReservations = reservationService.getReservationsByScreening(screeningId);
-        
-        // Create a map to store seat status information
-        Map<Long, String> seatStatusMap = new HashMap<>();
-        
-        // Process each reservation and update seat status based on reservation status
-        for (Reservation reservation : allScreeningReservations) {
-            // Get all seats for this reservation
-            List<Seat> reservationSeats = reservation.getSeatReservations().stream()
-                    .map(SeatReservation::getSeat)
-                    .collect(Collectors.toList());
-            
-            // Update seat status based on reservation status
-            for (Seat seat : reservationSeats) {
-                // Only mark as reserved if the reservation is PENDING or CONFIRMED
-                if (reservation.getStatus() == org.example.backend.model.enums.ReservationStatus.PENDING ||
-                    reservation.getStatus() == org.example.backend.model.enums.ReservationStatus.CONFIRMED) {
-                    seatStatusMap.put(seat.getId(), "RESERVED");
-                }
-                // If the reservation is CANCELLED and the seat isn't already marked as RESERVED by another reservation
-                else if (reservation.getStatus() == org.example.backend.model.enums.ReservationStatus.CANCELLED &&
-                         !seatStatusMap.containsKey(seat.getId())) {
-                    seatStatusMap.put(seat.getId(), "AVAILABLE");
-                }
-            }
-        }
-        
-        // Convert seats to response object with availability status
-        List<Map<String, Object>> seatStatusList = roomSeats.stream()
-                .map(seat -> {
-                    // Get status from the map, default to AVAILABLE if not in the map
-                    String status = seatStatusMap.getOrDefault(seat.getId(), "AVAILABLE");
-                    
-                    Map<String, Object> seatMap = new HashMap<>();
-                    seatMap.put("id", seat.getId());
-                    seatMap.put("row", seat.getRowLabel());
-                    seatMap.put("number", seat.getColumnNumber());
-                    seatMap.put("status", status);
-                    seatMap.put("roomId", seat.getRoom().getId());
-
-                    return seatMap;
-                })
-                .collect(Collectors.toList());
+    public ResponseEntity<List<Map<String, Object>>> getSeatsForScreening(@PathVariable Long screeningId,
+            @RequestHeader(value = WaitingRoomService.ADMISSION_HEADER, required = false) String admissionToken) {
+        waitingRoomService.checkAdmission(screeningId, admissionToken);
+
+        // Seat occupancy is served from the in-memory inventory, loaded once per screening
+        ScreeningSeatMap seatMap = seatInventoryService.getSeatMap(screeningId);
+        List<Map<String, Object>> seatStatusList = seatInventoryService.describeSeats(seatMap);
 
         return ResponseEntity.ok(seatStatusList);
     }
 
+    @GetMapping(value = "/screening/{screeningId}", produces = SEAT_MAP_COMPACT_VALUE)
+    @Operation(summary = "Get the compact seat map for a screening", description = "Returns the room geometry once and the reserved seats as a base64 bitset in grid order")
+    public ResponseEntity<SeatMapCompactDTO> getCompactSeatMapForScreening(@PathVariable Long screeningId,
+            @RequestHeader(value = WaitingRoomService.ADMISSION_HEADER, required = false) String admissionToken) {
+        waitingRoomService.checkAdmission(screeningId, admissionToken);
+        ScreeningSeatMap seatMap = seatInventoryService.getSeatMap(screeningId);
+        return ResponseEntity.ok(seatInventoryService.describeSeatsCompact(seatMap));
+    }
+
     @GetMapping("/screening/{screeningId}/available")
     @Operation(summary = "Get available seats for a screening", description = "Retrieves only available seats for a specific screening")
-    public ResponseEntity<List<Map<String, Object>>> getAvailableSeatsForScreening(@PathVariable Long screeningId) {
+    public ResponseEntity<List<Map<String, Object>>> getAvailableSeatsForScreening(@PathVariable Long screeningId,
+            @RequestHeader(value = WaitingRoomService.ADMISSION_HEADER, required = false) String admissionToken) {
+        waitingRoomService.checkAdmission(screeningId, admissionToken);
+
         // Get all seats with status
-        List<Map<String, Object>> allSeats = getSeatsForScreening(screeningId).getBody();
+        List<Map<String, Object>> allSeats =
+                seatInventoryService.describeSeats(seatInventoryService.getSeatMap(screeningId));
 
         // Filter to only include available seats
         if (allSeats != null) {
@@ -104,4 +81,24 @@ public class SeatController {
 
         return ResponseEntity.ok(List.of());
     }
-}
\ No newline at end of file
+
+    @GetMapping(value = "/screening/{screeningId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream seat changes for a screening", description = "Sends a snapshot of the seat map with its version, then a delta event for every seat status change")
+    public SseEmitter streamSeatsForScreening(@PathVariable Long screeningId,
+            @RequestHeader(value = WaitingRoomService.ADMISSION_HEADER, required = false) String admissionToken) {
+        waitingRoomService.checkAdmission(screeningId, admissionToken);
+        return seatStreamService.subscribe(screeningId);
+    }
+
+    @ExceptionHandler(AdmissionRequiredException.class)
+    public ResponseEntity<ErrorResponse> handleAdmissionRequired(AdmissionRequiredException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Sala de espera",
+                ex.getMessage(),
+                LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+}
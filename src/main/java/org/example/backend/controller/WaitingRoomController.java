@@ -0,0 +1,31 @@
+package org.example.backend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.WaitingRoomStatusDTO;
+import org.example.backend.service.WaitingRoomService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/waiting-room")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Waiting room", description = "Admission queue for screenings in high demand")
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping("/screening/{screeningId}/join")
+    @Operation(summary = "Join the waiting room", description = "Returns a queue ticket and its position if the screening is busy; otherwise no admission is needed and no token is issued")
+    public ResponseEntity<WaitingRoomStatusDTO> join(@PathVariable Long screeningId) {
+        return ResponseEntity.ok(waitingRoomService.join(screeningId));
+    }
+
+    @GetMapping("/screening/{screeningId}/status")
+    @Operation(summary = "Get the queue position of a ticket", description = "Returns the position in the queue, or the admission token once the ticket has been admitted")
+    public ResponseEntity<WaitingRoomStatusDTO> getStatus(@PathVariable Long screeningId, @RequestParam String ticket) {
+        return ResponseEntity.ok(waitingRoomService.getStatus(screeningId, ticket));
+    }
+}
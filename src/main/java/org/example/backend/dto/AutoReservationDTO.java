@@ -0,0 +1,23 @@
+package org.example.backend.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutoReservationDTO {
+    private Long userId;
+
+    @NotNull(message = "The screening ID is required")
+    private Long screeningId;
+
+    @NotNull(message = "The party size is required")
+    @Min(value = 1, message = "The party size must be at least 1")
+    @Max(value = 10, message = "The party size cannot exceed 10")
+    private Integer partySize;
+}
@@ -0,0 +1,15 @@
+package org.example.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkScreeningCreationDTO {
+    @NotEmpty(message = "At least one screening is required")
+    @Size(max = 500, message = "At most 500 screenings can be created at once")
+    private List<@Valid ScreeningCreationDTO> screenings;
+}
@@ -0,0 +1,14 @@
+package org.example.backend.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. nextCursor is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.backend.dto;
 
 import lombok.Data;
+import org.example.backend.model.Movie;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -27,4 +28,31 @@ public class MovieDTO {
     private Integer voteCount;
     private List<String> genreNames = new ArrayList<>();
     // No incluir campos con relaciones bidireccionales
+
+    public static MovieDTO fromMovie(Movie movie) {
+        MovieDTO dto = new MovieDTO();
+        dto.setId(movie.getId());
+        dto.setTitle(movie.getTitle());
+        dto.setDescription(movie.getDescription());
+        dto.setDurationMinutes(movie.getDurationMinutes());
+        dto.setReleaseDate(movie.getReleaseDate());
+        dto.setPosterUrl(movie.getPosterUrl());
+        dto.setBackdropUrl(movie.getBackdropUrl());
+        dto.setRating(movie.getRating());
+        dto.setLanguage(movie.getLanguage());
+        dto.setDirector(movie.getDirector());
+        dto.setTrailerUrl(movie.getTrailerUrl());
+        dto.setTmdbId(movie.getTmdbId());
+        dto.setImdbId(movie.getImdbId());
+        dto.setPopularity(movie.getPopularity());
+        dto.setVoteAverage(movie.getVoteAverage());
+        dto.setVoteCount(movie.getVoteCount());
+
+        // Solo extraemos los nombres de los géneros
+        if (movie.getGenres() != null) {
+            movie.getGenres().forEach(genre -> dto.getGenreNames().add(genre.getName()));
+        }
+
+        return dto;
+    }
 }
\ No newline at end of file
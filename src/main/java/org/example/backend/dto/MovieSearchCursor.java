@@ -0,0 +1,28 @@
+package org.example.backend.dto;
+
+import org.example.backend.exception.InvalidCursorException;
+
+/**
+ * Position in a local search result ordered by descending score and id,
+ * written as {@code <score>,<id>}, for example {@code 0.4375,42}.
+ */
+public record MovieSearchCursor(float score, Long id) {
+
+    public static MovieSearchCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int comma = value.lastIndexOf(',');
+        try {
+            return new MovieSearchCursor(Float.parseFloat(value.substring(0, comma)),
+                    Long.valueOf(value.substring(comma + 1)));
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor: " + value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return score + "," + id;
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.backend.dto;
+
+import lombok.Data;
+import org.example.backend.model.Movie;
+
+import java.time.LocalDate;
+
+@Data
+public class MovieSuggestionDTO {
+    private Long id;
+    private String title;
+    private String director;
+    private LocalDate releaseDate;
+    private String posterUrl;
+
+    public static MovieSuggestionDTO fromMovie(Movie movie) {
+        MovieSuggestionDTO dto = new MovieSuggestionDTO();
+        dto.setId(movie.getId());
+        dto.setTitle(movie.getTitle());
+        dto.setDirector(movie.getDirector());
+        dto.setReleaseDate(movie.getReleaseDate());
+        dto.setPosterUrl(movie.getPosterUrl());
+        return dto;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.backend.dto;
+
+import lombok.Data;
+import org.example.backend.repository.MovieRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class MovieSummaryDTO {
+    private Long id;
+    private String title;
+    private Integer durationMinutes;
+    private LocalDate releaseDate;
+    private String posterUrl;
+    private String backdropUrl;
+    private String rating;
+    private String language;
+    private String director;
+    private BigDecimal popularity;
+    private BigDecimal voteAverage;
+    private Integer voteCount;
+    private List<String> genreNames = new ArrayList<>();
+    private List<String> tags = new ArrayList<>();
+
+    public static MovieSummaryDTO fromView(MovieRepository.MovieSummaryView view) {
+        MovieSummaryDTO dto = new MovieSummaryDTO();
+        dto.setId(view.getId());
+        dto.setTitle(view.getTitle());
+        dto.setDurationMinutes(view.getDurationMinutes());
+        dto.setReleaseDate(view.getReleaseDate());
+        dto.setPosterUrl(view.getPosterUrl());
+        dto.setBackdropUrl(view.getBackdropUrl());
+        dto.setRating(view.getRating());
+        dto.setLanguage(view.getLanguage());
+        dto.setDirector(view.getDirector());
+        dto.setPopularity(view.getPopularity());
+        dto.setVoteAverage(view.getVoteAverage());
+        dto.setVoteCount(view.getVoteCount());
+        return dto;
+    }
+}
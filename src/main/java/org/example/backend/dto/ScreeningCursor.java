@@ -0,0 +1,36 @@
+package org.example.backend.dto;
+
+import org.example.backend.exception.InvalidCursorException;
+import org.example.backend.model.Screening;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position in a screening listing ordered by start time and id, written as
+ * {@code <startTime>,<id>}, for example {@code 2025-06-01T18:30,42}.
+ */
+public record ScreeningCursor(LocalDateTime startTime, Long id) {
+
+    public static ScreeningCursor of(Screening screening) {
+        return new ScreeningCursor(screening.getStartTime(), screening.getId());
+    }
+
+    public static ScreeningCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int comma = value.lastIndexOf(',');
+        try {
+            return new ScreeningCursor(LocalDateTime.parse(value.substring(0, comma)),
+                    Long.valueOf(value.substring(comma + 1)));
+        } catch (IndexOutOfBoundsException | DateTimeParseException | NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor: " + value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return startTime + "," + id;
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact seat map: the room grid is described once and seat states are sent
+ * as a bitset in grid order (ordinal = row * columns + column - 1).
+ * <p>
+ * {@code reserved} is the base64 encoding of that bitset, bit {@code i % 8} of
+ * byte {@code i / 8} being the seat at ordinal {@code i}. Seat ids are sent as
+ * {@code firstSeatId} when every grid position holds a seat and ids grow by one
+ * in grid order; otherwise {@code seatIds} lists them per ordinal, with 0 for
+ * positions that have no seat. Row labels follow the {@code ALPHA} scheme:
+ * A..Z, then AA, AB...
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SeatMapCompactDTO {
+    private Long screeningId;
+    private Long roomId;
+    private long version;
+    private int rows;
+    private int columns;
+    private String rowLabels;
+    private Long firstSeatId;
+    private long[] seatIds;
+    private String reserved;
+}
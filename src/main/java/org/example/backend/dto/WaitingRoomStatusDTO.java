@@ -0,0 +1,21 @@
+package org.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WaitingRoomStatusDTO {
+    private Long screeningId;
+    private boolean admitted;
+    private long position;
+    private Long estimatedWaitSeconds;
+    // Send back to the status endpoint while waiting
+    private String ticket;
+    // Send in the X-Admission-Token header once admitted; absent when the screening needs no admission
+    private String admissionToken;
+}
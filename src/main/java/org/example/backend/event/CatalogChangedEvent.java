@@ -0,0 +1,22 @@
+package org.example.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after a committed change to what the public catalog shows:
+ * movies, rooms, screenings or the seat counts of screenings.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogChangedEvent {
+
+    public enum Kind {
+        MOVIES,
+        ROOMS,
+        SCREENINGS,
+        SEATS
+    }
+
+    private final Kind kind;
+}
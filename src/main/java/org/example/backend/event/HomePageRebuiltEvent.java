@@ -0,0 +1,16 @@
+package org.example.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after the in-memory home page snapshot has been replaced.
+ */
+@Getter
+@AllArgsConstructor
+public class HomePageRebuiltEvent {
+
+    private final LocalDateTime builtAt;
+}
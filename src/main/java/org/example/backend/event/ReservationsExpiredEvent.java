@@ -0,0 +1,21 @@
+package org.example.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Published after a batch of PENDING reservations has been cancelled for
+ * exceeding the hold time and the cancellation has committed.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationsExpiredEvent {
+
+    private final List<Long> reservationIds;
+    // Freed seat ids grouped by screening id
+    private final Map<Long, Set<Long>> freedSeats;
+}
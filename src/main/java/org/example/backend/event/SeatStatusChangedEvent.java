@@ -0,0 +1,20 @@
+package org.example.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published after a committed reservation change has been applied to the
+ * in-memory seat map of a screening.
+ */
+@Getter
+@AllArgsConstructor
+public class SeatStatusChangedEvent {
+
+    private final Long screeningId;
+    private final long version;
+    private final boolean reserved;
+    private final List<Long> seatIds;
+}
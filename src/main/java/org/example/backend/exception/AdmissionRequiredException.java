@@ -0,0 +1,20 @@
+package org.example.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class AdmissionRequiredException extends BusinessException {
+
+    private final Long screeningId;
+
+    public AdmissionRequiredException(Long screeningId) {
+        super("This screening is in high demand. Join the waiting room at /api/waiting-room/screening/"
+                + screeningId + "/join and retry with the admission token");
+        this.screeningId = screeningId;
+    }
+
+    public Long getScreeningId() {
+        return screeningId;
+    }
+}
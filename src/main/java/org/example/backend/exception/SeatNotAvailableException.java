@@ -0,0 +1,21 @@
+package org.example.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SeatNotAvailableException extends BusinessException {
+
+    private final List<Long> seatIds;
+
+    public SeatNotAvailableException(String message, List<Long> seatIds) {
+        super(message);
+        this.seatIds = List.copyOf(seatIds);
+    }
+
+    public List<Long> getSeatIds() {
+        return seatIds;
+    }
+}
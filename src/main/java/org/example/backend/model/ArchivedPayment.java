@@ -0,0 +1,42 @@
+package org.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.model.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "payment_archive", indexes = {
+        @Index(name = "idx_payment_archive_reservation", columnList = "reservation_id")
+})
+public class ArchivedPayment {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "payment_date")
+    private LocalDateTime paymentDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentStatus status;
+
+    @Column(name = "stripe_checkout_id")
+    private String stripeCheckoutId;
+
+    @Column(name = "stripe_payment_intent_id")
+    private String stripePaymentIntentId;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+}
@@ -0,0 +1,46 @@
+package org.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.model.enums.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reservation of a screening that ended long ago, moved out of the reservation
+ * table by ReservationArchiveService. Keeps the original id and plain foreign
+ * key values, without constraints, so the hot tables can be pruned freely.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "reservation_archive", indexes = {
+        @Index(name = "idx_reservation_archive_user", columnList = "user_id")
+})
+public class ArchivedReservation {
+
+    @Id
+    private Long id;
+
+    @Column(name = "reservation_date", nullable = false)
+    private LocalDateTime reservationDate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "screening_id", nullable = false)
+    private Long screeningId;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,25 @@
+package org.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "seat_reservation_archive", indexes = {
+        @Index(name = "idx_seat_reservation_archive_reservation", columnList = "reservation_id")
+})
+public class ArchivedSeatReservation {
+
+    @Id
+    private Long id;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+
+    @Column(name = "seat_id", nullable = false)
+    private Long seatId;
+}
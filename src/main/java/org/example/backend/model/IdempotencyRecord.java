@@ -0,0 +1,47 @@
+package org.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a POST sent with an Idempotency-Key header. While the first request
+ * is still running the response columns are null; once it finishes they hold
+ * the response that retries with the same key receive.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "idempotency_record", indexes = {
+        @Index(name = "idx_idempotency_record_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+
+    // SHA-256 of the user, method, path and client key
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
+    // SHA-256 of the request body, to reject a key reused for a different request
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "response_body", columnDefinition = "bytea")
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
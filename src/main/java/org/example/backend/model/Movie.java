@@ -6,6 +6,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -20,6 +22,8 @@ import java.util.Set;
 @NoArgsConstructor
 @Entity
 @Table(name = "movie")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movie")
 public class Movie {
 
     @Id
@@ -78,6 +82,7 @@ public class Movie {
     private Integer voteCount;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movie.tags")
     @CollectionTable(name = "movie_tags", joinColumns = @JoinColumn(name = "movie_id"))
     @Column(name = "tag")
     private Set<String> tags = new HashSet<>();
@@ -94,6 +99,7 @@ public class Movie {
     @JsonManagedReference
     @JsonIgnoreProperties({ "movies", "hibernateLazyInitializer", "handler" })
     @ManyToMany(cascade = { CascadeType.MERGE })
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movie.genres")
     @JoinTable(name = "movie_genre", joinColumns = @JoinColumn(name = "movie_id"), inverseJoinColumns = @JoinColumn(name = "genre_id"))
     private Set<Genre> genres = new HashSet<>();
 
@@ -16,7 +16,10 @@ import java.util.List;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "reservation")
+@Table(name = "reservation", indexes = {
+        // Serves the expiry sweep over PENDING reservations by age
+        @Index(name = "idx_reservation_status_created_at", columnList = "status, created_at")
+})
 public class Reservation {
 
     @Id
@@ -0,0 +1,54 @@
+package org.example.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.model.enums.ReservationStatus;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only union of live and archived reservations. Only the history
+ * endpoints read it; everything else works on the reservation table alone.
+ * archivedAt is null for reservations that have not been archived.
+ */
+@Data
+@Entity
+@Immutable
+@NoArgsConstructor
+@Subselect("SELECT id, reservation_date, created_at, status, user_id, screening_id, " +
+        "CAST(NULL AS timestamp) AS archived_at FROM reservation " +
+        "UNION ALL " +
+        "SELECT id, reservation_date, created_at, status, user_id, screening_id, archived_at " +
+        "FROM reservation_archive")
+@Synchronize({"reservation", "reservation_archive"})
+public class ReservationHistory {
+
+    @Id
+    private Long id;
+
+    @Column(name = "reservation_date")
+    private LocalDateTime reservationDate;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "screening_id")
+    private Long screeningId;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
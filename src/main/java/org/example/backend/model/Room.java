@@ -7,6 +7,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +18,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "room")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "room")
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class Room {
 
@@ -36,6 +40,7 @@ public class Room {
     private Integer capacity;
 
     @OneToMany(mappedBy = "room", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "room.seats")
     @JsonIgnoreProperties("room")
     private List<Seat> seats = new ArrayList<>();
 
@@ -76,4 +81,14 @@ public class Room {
         result.append((char) ('A' + rowIndex));
         return result.toString();
     }
+
+    /**
+     * Inverse of the row label scheme used by generateSeats: A..Z, then AA, AB...
+     */
+    public static int rowIndexOf(String rowLabel) {
+        if (rowLabel.length() == 1) {
+            return rowLabel.charAt(0) - 'A';
+        }
+        return (rowLabel.charAt(0) - 'A' + 1) * 26 + (rowLabel.charAt(1) - 'A');
+    }
 }
\ No newline at end of file
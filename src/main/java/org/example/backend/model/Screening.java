@@ -14,7 +14,11 @@ import java.util.List;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "screening")
+@Table(name = "screening", indexes = {
+        @Index(name = "idx_screening_room_start_time", columnList = "room_id, start_time"),
+        @Index(name = "idx_screening_movie_start_time", columnList = "movie_id, start_time"),
+        @Index(name = "idx_screening_start_time", columnList = "start_time")
+})
 public class Screening {
 
     @Id
@@ -49,6 +53,12 @@ public class Screening {
     @Column(length = 50)
     private String format = "Digital";
 
+    // Seats held by PENDING or CONFIRMED reservations. Maintained in SQL together
+    // with the seat claims, so Hibernate never writes it
+    @Column(name = "reserved_seat_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer not null default 0")
+    private int reservedSeatCount;
+
     @OneToMany(mappedBy = "screening", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnoreProperties({ "screening" })
     private List<Reservation> reservations = new ArrayList<>();
@@ -68,15 +78,6 @@ public class Screening {
         if (room == null)
             return 0;
 
-        int totalSeats = room.getCapacity();
-        int reservedSeats = 0;
-
-        if (reservations != null) {
-            for (Reservation reservation : reservations) {
-                reservedSeats += reservation.getSeatReservations().size();
-            }
-        }
-
-        return totalSeats - reservedSeats;
+        return room.getCapacity() - reservedSeatCount;
     }
 }
\ No newline at end of file
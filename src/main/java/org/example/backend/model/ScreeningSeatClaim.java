@@ -0,0 +1,42 @@
+package org.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One row per seat currently held for a screening. The primary key on
+ * (screening_id, seat_id) is what prevents a seat from being sold twice.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(ScreeningSeatClaim.ClaimId.class)
+@Table(name = "screening_seat_claim", indexes = {
+        @Index(name = "idx_screening_seat_claim_reservation", columnList = "reservation_id")
+})
+public class ScreeningSeatClaim {
+
+    @Id
+    @Column(name = "screening_id", nullable = false)
+    private Long screeningId;
+
+    @Id
+    @Column(name = "seat_id", nullable = false)
+    private Long seatId;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ClaimId implements Serializable {
+        private Long screeningId;
+        private Long seatId;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Denormalized row of the movie page showtime list, one per screening. The
+ * table is maintained by database triggers on screening, room and movie (see
+ * V5__showtime_slot.sql), so the application only reads it.
+ */
+@Data
+@Entity
+@Immutable
+@NoArgsConstructor
+@Table(name = "showtime_slot")
+public class ShowtimeSlot {
+
+    @Id
+    @Column(name = "screening_id")
+    private Long screeningId;
+
+    @Column(name = "movie_id", nullable = false)
+    private Long movieId;
+
+    @Column(name = "movie_title", nullable = false)
+    private String movieTitle;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "room_number", nullable = false)
+    private Integer roomNumber;
+
+    @Column(name = "show_date", nullable = false)
+    private LocalDate showDate;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(length = 50)
+    private String format;
+
+    @Column(length = 50)
+    private String language;
+
+    @Column(name = "is3d")
+    private Boolean is3D;
+
+    @Column(name = "has_subtitles")
+    private Boolean hasSubtitles;
+
+    @Column(name = "available_seats", nullable = false)
+    private Integer availableSeats;
+}
@@ -1,5 +1,7 @@
 package org.example.backend.model.enums;
 
 public enum PaymentStatus {
-    PENDING, SUCCEEDED, FAILED
+    PENDING, SUCCEEDED, FAILED,
+    // Paid after the reservation was cancelled and its seats were taken meanwhile
+    REFUND_REQUIRED
 }
@@ -8,6 +8,8 @@ import java.util.Optional;
 
 @Repository
 public interface GenreRepository extends JpaRepository<Genre, Long> {
+    @QueryIndex("genre_name_key")
     Optional<Genre> findByName(String name);
+    @QueryIndex("idx_genre_tmdb_genre_id")
     Optional<Genre> findByTmdbGenreId(Integer tmdbGenreId);
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package org.example.backend.repository;
+
+import org.example.backend.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // createdAt identifies the claim: a retry that took the key over has written a newer one
+    @QueryIndex("idempotency_record_pkey")
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseStatus = :status, r.contentType = :contentType, " +
+            "r.responseBody = :body WHERE r.idempotencyKey = :key AND r.createdAt = :claimedAt")
+    int complete(@Param("key") String key,
+            @Param("claimedAt") LocalDateTime claimedAt,
+            @Param("status") int status,
+            @Param("contentType") String contentType,
+            @Param("body") byte[] body);
+
+    @QueryIndex("idempotency_record_pkey")
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.createdAt = :claimedAt " +
+            "AND r.responseStatus IS NULL")
+    int abandon(@Param("key") String key, @Param("claimedAt") LocalDateTime claimedAt);
+
+    @QueryIndex("idx_idempotency_record_expires_at")
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,20 +1,93 @@
 package org.example.backend.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.backend.model.Movie;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Long> {
+public interface MovieRepository extends JpaRepository<Movie, Long>, MovieRepositoryCustom {
+    @QueryIndex("idx_movie_tmdb_id")
     boolean existsByTmdbId(Integer tmdbId);
 
+    @QueryIndex("idx_movie_tmdb_id")
     Optional<Movie> findByTmdbId(Integer tmdbId);
 
+    @QueryIndex("idx_movie_active")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Movie> findByIsActiveTrue();
 
+    @QueryIndex("idx_movie_featured")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Movie> findByIsFeaturedTrue();
 
+    @QueryIndex("movie_pkey")
+    @Query("SELECT m.title FROM Movie m WHERE m.id = :id")
+    Optional<String> findTitleById(@Param("id") Long id);
+
+    @QueryIndex({"idx_movie_active", "idx_movie_tags_movie"})
+    @Query("SELECT m.id AS movieId, t AS tag FROM Movie m JOIN m.tags t WHERE m.isActive = true")
+    List<MovieTagView> findActiveMovieTags();
+
+    /**
+     * Active movies with an id greater than afterId, in id order. Pass 0 for
+     * the first page.
+     */
+    @QueryIndex("idx_movie_active")
+    @Query("SELECT m.id AS id, m.title AS title, m.durationMinutes AS durationMinutes, " +
+            "m.releaseDate AS releaseDate, m.posterUrl AS posterUrl, m.backdropUrl AS backdropUrl, " +
+            "m.rating AS rating, m.language AS language, m.director AS director, m.popularity AS popularity, " +
+            "m.voteAverage AS voteAverage, m.voteCount AS voteCount " +
+            "FROM Movie m WHERE m.isActive = true AND m.id > :afterId ORDER BY m.id")
+    List<MovieSummaryView> findActiveSummariesAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Genre names and tags of the given movies in one round trip; kind is
+     * GENRE or TAG.
+     */
+    @QueryIndex({"idx_movie_genre_movie", "genre_pkey", "idx_movie_tags_movie"})
+    @Query(value = "SELECT mg.movie_id AS movieId, 'GENRE' AS kind, g.name AS name " +
+            "FROM movie_genre mg JOIN genre g ON g.id = mg.genre_id WHERE mg.movie_id IN (:movieIds) " +
+            "UNION ALL " +
+            "SELECT t.movie_id AS movieId, 'TAG' AS kind, t.tag AS name " +
+            "FROM movie_tags t WHERE t.movie_id IN (:movieIds)", nativeQuery = true)
+    List<MovieLabelView> findLabelsByMovieIds(@Param("movieIds") Collection<Long> movieIds);
+
+    interface MovieSummaryView {
+        Long getId();
+        String getTitle();
+        Integer getDurationMinutes();
+        LocalDate getReleaseDate();
+        String getPosterUrl();
+        String getBackdropUrl();
+        String getRating();
+        String getLanguage();
+        String getDirector();
+        BigDecimal getPopularity();
+        BigDecimal getVoteAverage();
+        Integer getVoteCount();
+    }
+
+    interface MovieLabelView {
+        Long getMovieId();
+        String getKind();
+        String getName();
+    }
+
+    interface MovieTagView {
+        Long getMovieId();
+        String getTag();
+    }
+
 }
\ No newline at end of file
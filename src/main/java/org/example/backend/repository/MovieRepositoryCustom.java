@@ -0,0 +1,20 @@
+package org.example.backend.repository;
+
+import org.example.backend.dto.MovieSearchCursor;
+
+import java.util.List;
+
+public interface MovieRepositoryCustom {
+
+    record SearchHit(Long id, float score) {
+    }
+
+    /**
+     * Up to {@code limit} active movies whose title, director, tags or
+     * description match the query, or whose title is similar to it, best match
+     * first and then by id, that come after the cursor (from the first one when
+     * it is null).
+     */
+    @QueryIndex({"idx_movie_search_vector", "idx_movie_title_trgm"})
+    List<SearchHit> searchLocal(String query, MovieSearchCursor after, int limit);
+}
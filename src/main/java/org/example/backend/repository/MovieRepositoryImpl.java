@@ -0,0 +1,41 @@
+package org.example.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.MovieSearchCursor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class MovieRepositoryImpl implements MovieRepositoryCustom {
+
+    // Full-text rank of the weighted document plus how closely the query matches
+    // a run of words in the title, so misspelled titles still rank
+    private static final String SEARCH_SQL =
+            "SELECT id, score FROM (" +
+            " SELECT m.id, (ts_rank_cd(m.search_vector, websearch_to_tsquery('simple', ?))" +
+            "   + word_similarity(?, m.title))::real AS score" +
+            " FROM movie m" +
+            " WHERE m.is_active" +
+            "   AND (m.search_vector @@ websearch_to_tsquery('simple', ?) OR ? <% m.title)" +
+            ") hits";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<SearchHit> searchLocal(String query, MovieSearchCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SEARCH_SQL);
+        List<Object> args = new ArrayList<>(List.of(query, query, query, query));
+        if (after != null) {
+            sql.append(" WHERE score < ? OR (score = ? AND id > ?)");
+            args.add(after.score());
+            args.add(after.score());
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY score DESC, id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new SearchHit(rs.getLong("id"), rs.getFloat("score")), args.toArray());
+    }
+}
@@ -9,7 +9,10 @@ import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
+    @QueryIndex("idx_payment_stripe_checkout_id")
     Optional<Payment> findByStripeCheckoutId(String stripeCheckoutId);
+    @QueryIndex("idx_payment_stripe_payment_intent_id")
     Optional<Payment> findByStripePaymentIntentId(String stripePaymentIntentId);
+    @QueryIndex("payment_reservation_id_key")
     Optional<Payment> findByReservation(Reservation reservation);
 }
@@ -0,0 +1,23 @@
+package org.example.backend.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the indexes or key constraints, as created by the migrations in
+ * db/migration, that serve a repository query. Primary keys and inline unique
+ * constraints use the PostgreSQL default names ({@code <table>_pkey},
+ * {@code <table>_<column>_key}).
+ * <p>
+ * RepositoryIndexCoverageTest fails for a query method without this
+ * annotation or naming an index no migration creates.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryIndex {
+    String[] value();
+}
@@ -0,0 +1,13 @@
+package org.example.backend.repository;
+
+import org.example.backend.model.ReservationHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReservationHistoryRepository extends JpaRepository<ReservationHistory, Long> {
+    @QueryIndex({"idx_reservation_user", "idx_reservation_archive_user"})
+    List<ReservationHistory> findByUserIdOrderByCreatedAtDesc(Long userId);
+}
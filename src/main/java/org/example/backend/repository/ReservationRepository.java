@@ -4,6 +4,9 @@ import org.example.backend.model.Reservation;
 import org.example.backend.model.Screening;
 import org.example.backend.model.enums.ReservationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -11,7 +14,9 @@ import java.util.List;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+    @QueryIndex("idx_reservation_screening")
     List<Reservation> findByScreening(Screening screening);
+    @QueryIndex("idx_reservation_user")
     List<Reservation> findByUserId(Long userId);
     
     /**
@@ -22,5 +27,35 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
      * @param createdAt La fecha límite de creación
      * @return Lista de reservas que cumplen los criterios
      */
+    @QueryIndex("idx_reservation_status_created_at")
     List<Reservation> findByStatusAndCreatedAtBefore(ReservationStatus status, LocalDateTime createdAt);
-}
\ No newline at end of file
+
+    /**
+     * Id and creation time of every reservation in the given status, used to
+     * rebuild the hold leases on startup without loading full entities.
+     */
+    @QueryIndex("idx_reservation_status_created_at")
+    @Query("SELECT r.id AS id, r.createdAt AS createdAt FROM Reservation r WHERE r.status = :status")
+    List<LeaseView> findLeasesByStatus(@Param("status") ReservationStatus status);
+
+    /**
+     * Confirms the reservation only if it is still PENDING, so a payment that
+     * completes after the reservation was cancelled cannot confirm it.
+     *
+     * @return 1 if the reservation was confirmed, 0 otherwise
+     */
+    @QueryIndex("reservation_pkey")
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = org.example.backend.model.enums.ReservationStatus.CONFIRMED " +
+            "WHERE r.id = :id AND r.status = org.example.backend.model.enums.ReservationStatus.PENDING")
+    int confirmIfPending(@Param("id") Long id);
+
+    @QueryIndex("reservation_pkey")
+    @Query("SELECT r.status FROM Reservation r WHERE r.id = :id")
+    ReservationStatus findStatusById(@Param("id") Long id);
+
+    interface LeaseView {
+        Long getId();
+        LocalDateTime getCreatedAt();
+    }
+}
@@ -8,5 +8,6 @@ import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    @QueryIndex("roles_name_key")
     Optional<Role> findByName(String name);
 }
\ No newline at end of file
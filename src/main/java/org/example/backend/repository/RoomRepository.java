@@ -11,13 +11,16 @@ import java.util.Optional;
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
 
+    @QueryIndex("room_number_key")
     Room findByNumber(Integer number);
 
 
+    @QueryIndex("room_number_key")
     @Query("SELECT MAX(r.number) FROM Room r")
     Optional<Integer> findMaxRoomNumber();
 
 
+    @QueryIndex("room_number_key")
     @Query("SELECT r FROM Room r WHERE r.number = (SELECT MAX(r2.number) FROM Room r2)")
     Optional<Room> findRoomWithHighestNumber();
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package org.example.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional criteria of a screening listing; null fields are not filtered on.
+ * Both bounds of the start time range are inclusive.
+ */
+public record ScreeningFilter(Long roomId, Long movieId, LocalDateTime startFrom, LocalDateTime startTo) {
+
+    public static final ScreeningFilter ALL = new ScreeningFilter(null, null, null, null);
+
+    public static ScreeningFilter room(Long roomId) {
+        return new ScreeningFilter(roomId, null, null, null);
+    }
+
+    public static ScreeningFilter between(LocalDateTime startFrom, LocalDateTime startTo) {
+        return new ScreeningFilter(null, null, startFrom, startTo);
+    }
+
+    public static ScreeningFilter movieBetween(Long movieId, LocalDateTime startFrom, LocalDateTime startTo) {
+        return new ScreeningFilter(null, movieId, startFrom, startTo);
+    }
+}
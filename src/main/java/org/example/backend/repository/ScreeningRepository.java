@@ -10,34 +10,43 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ScreeningRepository extends JpaRepository<Screening, Long> {
-
-        @Query("SELECT s FROM Screening s WHERE s.room.id = :roomId AND " +
-                        "((s.startTime < :endTime AND s.endTime > :startTime))")
-        List<Screening> findOverlappingScreenings(
-                        @Param("roomId") Long roomId,
-                        @Param("startTime") LocalDateTime startTime,
-                        @Param("endTime") LocalDateTime endTime);
-
-        @Query("SELECT s FROM Screening s WHERE s.room.id = :roomId AND " +
-                        "s.startTime > :afterTime ORDER BY s.startTime ASC")
-        List<Screening> findNextScreeningsAfter(
+public interface ScreeningRepository extends JpaRepository<Screening, Long>, ScreeningRepositoryCustom {
+
+        /**
+         * Screenings of a room that end after the given time, used to load the
+         * room schedule without fetching full entities.
+         */
+        @QueryIndex("idx_screening_room_start_time")
+        @Query("SELECT s.id AS id, s.startTime AS startTime, s.endTime AS endTime FROM Screening s " +
+                        "WHERE s.room.id = :roomId AND s.endTime > :since")
+        List<ScheduleView> findScheduleByRoomId(
                         @Param("roomId") Long roomId,
-                        @Param("afterTime") LocalDateTime afterTime);
+                        @Param("since") LocalDateTime since);
 
+        @QueryIndex("idx_screening_end_time")
         @Query("SELECT s FROM Screening s WHERE s.endTime > :now ORDER BY s.startTime")
         List<Screening> findActiveScreenings(@Param("now") LocalDateTime now);
 
-        @Query("SELECT s FROM Screening s WHERE s.movie.id = :movieId AND " +
-                        "s.startTime BETWEEN :fromDate AND :toDate ORDER BY s.startTime")
-        List<Screening> findByMovieIdAndDateRange(
-                        @Param("movieId") Long movieId,
-                        @Param("fromDate") LocalDateTime fromDate,
-                        @Param("toDate") LocalDateTime toDate);
-
-        @Query("SELECT DISTINCT s.movie.id FROM Screening s WHERE " +
-                        "s.startTime BETWEEN :startTime AND :endTime")
-        List<Long> findMovieIdsWithScreeningsBetween(
-                        @Param("startTime") LocalDateTime startTime,
-                        @Param("endTime") LocalDateTime endTime);
-}
\ No newline at end of file
+        @QueryIndex("idx_screening_start_time")
+        @Query("SELECT s FROM Screening s JOIN FETCH s.movie JOIN FETCH s.room " +
+                        "WHERE s.startTime >= :from AND s.startTime < :to ORDER BY s.startTime")
+        List<Screening> findWithMovieAndRoomStartingBetween(
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
+        @QueryIndex("idx_screening_start_time")
+        @Query("SELECT s.movie.id AS movieId, s.startTime AS startTime FROM Screening s " +
+                        "WHERE s.startTime >= :from")
+        List<MovieStartView> findStartTimesFrom(@Param("from") LocalDateTime from);
+
+        interface ScheduleView {
+                Long getId();
+                LocalDateTime getStartTime();
+                LocalDateTime getEndTime();
+        }
+
+        interface MovieStartView {
+                Long getMovieId();
+                LocalDateTime getStartTime();
+        }
+}
@@ -0,0 +1,23 @@
+package org.example.backend.repository;
+
+import org.example.backend.dto.ScreeningCursor;
+import org.example.backend.model.Screening;
+
+import java.util.List;
+
+public interface ScreeningRepositoryCustom {
+
+    /**
+     * Inserts the screenings as a single JDBC batch and sets their generated ids.
+     * The entities are not attached to the persistence context.
+     */
+    void batchInsert(List<Screening> screenings);
+
+    /**
+     * Up to {@code limit} screenings matching the filter, ordered by start time
+     * and id, that come after the cursor (from the first one when it is null).
+     * Movie and room are fetched in the same query.
+     */
+    @QueryIndex({"idx_screening_room_start_time", "idx_screening_movie_start_time", "idx_screening_start_time"})
+    List<Screening> findPage(ScreeningFilter filter, ScreeningCursor after, int limit);
+}
@@ -0,0 +1,100 @@
+package org.example.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.ScreeningCursor;
+import org.example.backend.model.Screening;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ScreeningRepositoryImpl implements ScreeningRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO screening (movie_id, room_id, start_time, end_time, is3d, has_subtitles, language, format) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void batchInsert(List<Screening> screenings) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Screening screening = screenings.get(i);
+                        ps.setLong(1, screening.getMovie().getId());
+                        ps.setLong(2, screening.getRoom().getId());
+                        ps.setTimestamp(3, Timestamp.valueOf(screening.getStartTime()));
+                        ps.setTimestamp(4, Timestamp.valueOf(screening.getEndTime()));
+                        ps.setObject(5, screening.getIs3D());
+                        ps.setObject(6, screening.getHasSubtitles());
+                        ps.setString(7, screening.getLanguage());
+                        ps.setString(8, screening.getFormat());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return screenings.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < screenings.size(); i++) {
+            screenings.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+    }
+
+    @Override
+    public List<Screening> findPage(ScreeningFilter filter, ScreeningCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT s FROM Screening s JOIN FETCH s.movie JOIN FETCH s.room WHERE 1 = 1");
+        if (filter.roomId() != null) {
+            jpql.append(" AND s.room.id = :roomId");
+        }
+        if (filter.movieId() != null) {
+            jpql.append(" AND s.movie.id = :movieId");
+        }
+        if (filter.startFrom() != null) {
+            jpql.append(" AND s.startTime >= :startFrom");
+        }
+        if (filter.startTo() != null) {
+            jpql.append(" AND s.startTime <= :startTo");
+        }
+        if (after != null) {
+            jpql.append(" AND (s.startTime > :afterStart OR (s.startTime = :afterStart AND s.id > :afterId))");
+        }
+        jpql.append(" ORDER BY s.startTime, s.id");
+
+        TypedQuery<Screening> query = entityManager.createQuery(jpql.toString(), Screening.class)
+                .setMaxResults(limit);
+        if (filter.roomId() != null) {
+            query.setParameter("roomId", filter.roomId());
+        }
+        if (filter.movieId() != null) {
+            query.setParameter("movieId", filter.movieId());
+        }
+        if (filter.startFrom() != null) {
+            query.setParameter("startFrom", filter.startFrom());
+        }
+        if (filter.startTo() != null) {
+            query.setParameter("startTo", filter.startTo());
+        }
+        if (after != null) {
+            query.setParameter("afterStart", after.startTime());
+            query.setParameter("afterId", after.id());
+        }
+        return query.getResultList();
+    }
+}
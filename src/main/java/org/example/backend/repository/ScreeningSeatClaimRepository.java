@@ -0,0 +1,23 @@
+package org.example.backend.repository;
+
+import org.example.backend.model.ScreeningSeatClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ScreeningSeatClaimRepository extends JpaRepository<ScreeningSeatClaim, ScreeningSeatClaim.ClaimId> {
+
+    @QueryIndex("screening_seat_claim_pkey")
+    @Query("SELECT c.seatId FROM ScreeningSeatClaim c WHERE c.screeningId = :screeningId")
+    List<Long> findSeatIdsByScreeningId(@Param("screeningId") Long screeningId);
+
+    @QueryIndex("screening_seat_claim_pkey")
+    @Modifying
+    @Query("DELETE FROM ScreeningSeatClaim c WHERE c.screeningId = :screeningId")
+    int deleteByScreeningId(@Param("screeningId") Long screeningId);
+}
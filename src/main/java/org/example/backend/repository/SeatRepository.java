@@ -9,6 +9,10 @@ import java.util.List;
 
 @Repository
 public interface SeatRepository extends JpaRepository<Seat, Long> {
+    @QueryIndex("idx_seat_room_row")
     List<Seat> findByRoom(Room room);
+    @QueryIndex("idx_seat_room_row")
     List<Seat> findByRoomAndRowLabel(Room room, String rowLabel);
+    @QueryIndex("idx_seat_room_row")
+    List<Seat> findByRoomId(Long roomId);
 }
\ No newline at end of file
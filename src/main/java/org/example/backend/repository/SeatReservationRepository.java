@@ -1,16 +1,16 @@
 package org.example.backend.repository;
 
-import org.example.backend.model.Screening;
-import org.example.backend.model.Seat;
 import org.example.backend.model.SeatReservation;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface SeatReservationRepository extends JpaRepository<SeatReservation, Long> {
-    List<SeatReservation> findBySeat(Seat seat);
-
+public interface SeatReservationRepository extends JpaRepository<SeatReservation, Long>, SeatReservationRepositoryCustom {
+    @QueryIndex("idx_seat_reservation_reservation")
+    @Query("SELECT sr.seat.id FROM SeatReservation sr WHERE sr.reservation.id = :reservationId")
+    List<Long> findSeatIdsByReservationId(@Param("reservationId") Long reservationId);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package org.example.backend.repository;
+
+import java.util.Collection;
+
+public interface SeatReservationRepositoryCustom {
+
+    /**
+     * Inserts one seat_reservation row per seat as a single JDBC batch.
+     */
+    void batchInsert(Long reservationId, Collection<Long> seatIds);
+}
@@ -0,0 +1,25 @@
+package org.example.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class SeatReservationRepositoryImpl implements SeatReservationRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO seat_reservation (reservation_id, seat_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(Long reservationId, Collection<Long> seatIds) {
+        List<Long> ids = List.copyOf(seatIds);
+        jdbcTemplate.batchUpdate(INSERT_SQL, ids, ids.size(), (ps, seatId) -> {
+            ps.setLong(1, reservationId);
+            ps.setLong(2, seatId);
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.backend.repository;
+
+import org.example.backend.model.ShowtimeSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ShowtimeSlotRepository extends JpaRepository<ShowtimeSlot, Long> {
+
+    @QueryIndex("idx_showtime_slot_movie_date")
+    List<ShowtimeSlot> findByMovieIdAndShowDateOrderByStartTime(Long movieId, LocalDate showDate);
+
+    @QueryIndex("idx_showtime_slot_movie_date")
+    List<ShowtimeSlot> findByMovieIdAndShowDateBetweenOrderByShowDateAscStartTimeAsc(
+            Long movieId, LocalDate fromDate, LocalDate toDate);
+
+    @QueryIndex("idx_showtime_slot_movie_date")
+    @Query("SELECT DISTINCT s.showDate AS showDate, s.movieTitle AS movieTitle FROM ShowtimeSlot s " +
+            "WHERE s.movieId = :movieId AND s.showDate BETWEEN :fromDate AND :toDate " +
+            "AND s.startsAt BETWEEN :from AND :to")
+    List<ShowDateView> findShowDates(
+            @Param("movieId") Long movieId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    interface ShowDateView {
+        LocalDate getShowDate();
+        String getMovieTitle();
+    }
+}
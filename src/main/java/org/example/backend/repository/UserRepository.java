@@ -8,11 +8,15 @@ import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    @QueryIndex("users_username_key")
     Optional<User> findByUsername(String username);
 
+    @QueryIndex("users_email_key")
     Optional<User> findByEmail(String email);
 
+    @QueryIndex("users_username_key")
     Boolean existsByUsername(String username);
 
+    @QueryIndex("users_email_key")
     Boolean existsByEmail(String email);
 }
\ No newline at end of file
@@ -1,8 +1,15 @@
 package org.example.backend.security.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.controller.ScreeningController;
 import org.example.backend.security.jwt.AuthEntryPointJwt;
 import org.example.backend.security.jwt.AuthTokenFilter;
 import org.example.backend.security.service.UserDetailsServiceImpl;
+import org.example.backend.service.IdempotencyService;
+import org.example.backend.service.ResponseCacheService;
+import org.example.backend.service.WaitingRoomService;
+import org.example.backend.web.IdempotencyFilter;
+import org.example.backend.web.ResponseCacheFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,6 +24,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -35,6 +43,15 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -70,6 +87,9 @@ public class WebSecurityConfig {
                         .requestMatchers("/api/public/**").permitAll()
                         // Also allow GET methods on these endpoints
                         .requestMatchers(HttpMethod.GET, "/api/movies/search").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/movies/search/local").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/movies/autocomplete").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v2/movies").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/movies/{id}").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/movies").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/movies/genres").permitAll()
@@ -77,6 +97,7 @@ public class WebSecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/screenings/**").permitAll()
                         .requestMatchers("/api/rooms/**").permitAll()
                         .requestMatchers("/api/seats/screening/**").permitAll() // Allow access to seat information
+                        .requestMatchers("/api/waiting-room/**").permitAll()
                         // Stripe webhook endpoint
                         .requestMatchers("/webhooks/stripe").permitAll()
                         // Payment endpoints
@@ -86,10 +107,17 @@ public class WebSecurityConfig {
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .requestMatchers("/v3/api-docs/**").permitAll()
                         .requestMatchers("/api-docs/**").permitAll()
+                        // Actuator: health is public, metrics are for admins
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated());
 
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        // Runs after the JWT filter so idempotency keys are scoped to the authenticated user
+        http.addFilterAfter(new IdempotencyFilter(idempotencyService, objectMapper), AuthTokenFilter.class);
+        // Runs after authorization so cached responses are only served to callers allowed to see them
+        http.addFilterAfter(new ResponseCacheFilter(responseCacheService), AuthorizationFilter.class);
 
         return http.build();
     }
@@ -108,8 +136,11 @@ public class WebSecurityConfig {
                 "X-Requested-With",
                 "Access-Control-Request-Method",
                 "Access-Control-Request-Headers",
-                "Stripe-Signature"));
-        configuration.setExposedHeaders(Arrays.asList("X-Auth-Token", "Authorization"));
+                "Stripe-Signature",
+                IdempotencyFilter.HEADER,
+                WaitingRoomService.ADMISSION_HEADER));
+        configuration.setExposedHeaders(Arrays.asList("X-Auth-Token", "Authorization", IdempotencyFilter.REPLAYED_HEADER,
+                ScreeningController.NEXT_CURSOR_HEADER));
         configuration.setAllowCredentials(false); // Must be false when allowedOrigins has "*"
         configuration.setMaxAge(3600L); // 1 hour
 
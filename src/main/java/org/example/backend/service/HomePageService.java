@@ -1,35 +1,85 @@
 package org.example.backend.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.example.backend.dto.MovieWithScreeningsDTO;
 import org.example.backend.dto.ScreeningDTO;
+import org.example.backend.event.CatalogChangedEvent;
+import org.example.backend.event.HomePageRebuiltEvent;
+import org.example.backend.model.Genre;
 import org.example.backend.model.Movie;
 import org.example.backend.model.Screening;
 import org.example.backend.repository.MovieRepository;
 import org.example.backend.repository.ScreeningRepository;
+import org.example.backend.service.snapshot.RebuildingSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Serves the home page from an immutable in-memory snapshot of the movies and
+ * screenings of the coming week. The snapshot is rebuilt in the background
+ * when movies or screenings change; bursts of changes are coalesced by a
+ * debounce delay. Seat counts change with every reservation, so they only
+ * schedule a rebuild on a much longer delay. The snapshot is also rebuilt
+ * periodically, which picks up changes made on other nodes. If a rebuild
+ * fails, requests keep getting the previous snapshot and the rebuild is
+ * retried later.
+ * <p>
+ * The snapshot covers whole days, so the "from now on" filters of each
+ * endpoint are applied per request on the in-memory lists.
+ */
 @Service
 @RequiredArgsConstructor
 public class HomePageService {
+        private static final int FEATURED_SCREENINGS_LIMIT = 10;
+
         private final MovieRepository movieRepository;
         private final ScreeningRepository screeningRepository;
+        private final TransactionTemplate transactionTemplate;
+        private final ApplicationEventPublisher eventPublisher;
+
+        @Value("${home.snapshot.debounce-millis:2000}")
+        private long debounceMillis;
+
+        @Value("${home.snapshot.seats-debounce-millis:30000}")
+        private long seatsDebounceMillis;
+
+        @Value("${home.snapshot.retry-millis:30000}")
+        private long retryMillis;
+
+        private RebuildingSnapshot<Snapshot> snapshot;
+
+        @PostConstruct
+        void createSnapshot() {
+                snapshot = new RebuildingSnapshot<>("home-page", this::build,
+                                built -> eventPublisher.publishEvent(new HomePageRebuiltEvent(built.builtAt())),
+                                retryMillis);
+        }
 
         public List<ScreeningDTO> getTodaysScreenings() {
                 LocalDate today = LocalDate.now();
                 LocalDateTime startOfDay = today.atStartOfDay();
                 LocalDateTime endOfDay = today.plusDays(1).atStartOfDay().minusSeconds(1);
 
-                return screeningRepository.findAll().stream()
+                return snapshot.get().screenings().stream()
+                                .map(Showing::screening)
                                 .filter(screening -> screening.getStartTime().isAfter(startOfDay) &&
                                                 screening.getStartTime().isBefore(endOfDay))
-                                .sorted((s1, s2) -> s1.getStartTime().compareTo(s2.getStartTime()))
-                                .map(this::convertToScreeningDTO)
                                 .collect(Collectors.toList());
         }
 
@@ -37,60 +87,117 @@ public class HomePageService {
                 LocalDateTime now = LocalDateTime.now();
                 LocalDateTime oneWeekLater = now.plusDays(7);
 
-                // Get screenings for featured movies in the next week
-                List<Movie> featuredMovies = movieRepository.findByIsFeaturedTrue();
-                List<Long> featuredMovieIds = featuredMovies.stream()
-                                .map(Movie::getId)
-                                .collect(Collectors.toList());
-
-                return screeningRepository.findAll().stream()
-                                .filter(screening -> featuredMovieIds.contains(screening.getMovie().getId()) &&
-                                                screening.getStartTime().isAfter(now) &&
+                Snapshot current = snapshot.get();
+                return current.screenings().stream()
+                                .filter(showing -> current.featuredMovieIds().contains(showing.movieId()))
+                                .map(Showing::screening)
+                                .filter(screening -> screening.getStartTime().isAfter(now) &&
                                                 screening.getStartTime().isBefore(oneWeekLater))
-                                .sorted((s1, s2) -> s1.getStartTime().compareTo(s2.getStartTime()))
-                                .limit(10) // Limit to the first 10 screenings
-                                .map(this::convertToScreeningDTO)
+                                .limit(FEATURED_SCREENINGS_LIMIT)
                                 .collect(Collectors.toList());
         }
 
         public List<MovieWithScreeningsDTO> getFeaturedMoviesWithScreenings() {
-                LocalDate today = LocalDate.now();
-                LocalDateTime now = LocalDateTime.now();
-                LocalDateTime oneWeekLater = today.plusDays(7).atTime(23, 59, 59);
-
-                List<Movie> featuredMovies = movieRepository.findByIsFeaturedTrue();
-
-                return featuredMovies.stream()
-                                .map(movie -> {
-                                        List<Screening> screenings = screeningRepository.findAll().stream()
-                                                        .filter(screening -> screening.getMovie().getId()
-                                                                        .equals(movie.getId()) &&
-                                                                        screening.getStartTime().isAfter(now) &&
-                                                                        screening.getStartTime().isBefore(oneWeekLater))
-                                                        .collect(Collectors.toList());
-                                        return new MovieWithScreeningsDTO(movie, screenings);
-                                })
-                                .filter(dto -> !dto.getScreenings().isEmpty())
-                                .collect(Collectors.toList());
+                return withUpcomingScreenings(snapshot.get().featuredMovies());
         }
 
         public List<MovieWithScreeningsDTO> getCurrentMoviesWithScreenings() {
-                LocalDate today = LocalDate.now();
+                return withUpcomingScreenings(snapshot.get().currentMovies());
+        }
+
+        @EventListener(ApplicationReadyEvent.class)
+        public void buildOnStartup() {
+                snapshot.requestRebuild(0);
+        }
+
+        @EventListener
+        public void onCatalogChanged(CatalogChangedEvent event) {
+                snapshot.requestRebuild(event.getKind() == CatalogChangedEvent.Kind.SEATS
+                                ? seatsDebounceMillis
+                                : debounceMillis);
+        }
+
+        // Changes committed on other nodes publish no event here
+        @Scheduled(fixedRateString = "${home.snapshot.refresh-millis:300000}",
+                        initialDelayString = "${home.snapshot.refresh-millis:300000}")
+        public void refresh() {
+                snapshot.requestRebuild(0);
+        }
+
+        // The snapshot window is anchored to the current day
+        @Scheduled(cron = "0 0 0 * * *")
+        public void rebuildAtMidnight() {
+                snapshot.requestRebuild(0);
+        }
+
+        @PreDestroy
+        public void shutdown() {
+                snapshot.close();
+        }
+
+        private Snapshot build() {
+                LocalDateTime builtAt = LocalDateTime.now();
+                LocalDate today = builtAt.toLocalDate();
+                // Covers both "the next 7 days from now" and "until the end of today + 7"
+                LocalDateTime from = today.atStartOfDay();
+                LocalDateTime to = today.plusDays(8).atStartOfDay();
+
+                return transactionTemplate.execute(status -> {
+                        List<Showing> showings = new ArrayList<>();
+                        Map<Long, List<ScreeningDTO>> screeningsByMovie = new HashMap<>();
+                        for (Screening screening : screeningRepository.findWithMovieAndRoomStartingBetween(from, to)) {
+                                Showing showing = new Showing(screening.getMovie().getId(), convertToScreeningDTO(screening));
+                                showings.add(showing);
+                                screeningsByMovie.computeIfAbsent(showing.movieId(), id -> new ArrayList<>())
+                                                .add(showing.screening());
+                        }
+
+                        List<Movie> featured = movieRepository.findByIsFeaturedTrue();
+                        return new Snapshot(
+                                        builtAt,
+                                        List.copyOf(showings),
+                                        featured.stream().map(Movie::getId).collect(Collectors.toUnmodifiableSet()),
+                                        movieCards(featured, screeningsByMovie),
+                                        movieCards(movieRepository.findByIsActiveTrue(), screeningsByMovie));
+                });
+        }
+
+        private static List<MovieCard> movieCards(List<Movie> movies, Map<Long, List<ScreeningDTO>> screeningsByMovie) {
+                return movies.stream()
+                                .filter(movie -> screeningsByMovie.containsKey(movie.getId()))
+                                .map(movie -> new MovieCard(
+                                                movie.getId(),
+                                                movie.getTitle(),
+                                                movie.getPosterUrl(),
+                                                movie.getDurationMinutes(),
+                                                movie.getRating(),
+                                                movie.getGenres().stream()
+                                                                .map(Genre::getName)
+                                                                .collect(Collectors.toUnmodifiableSet()),
+                                                movie.getIsFeatured(),
+                                                movie.getAgeRating(),
+                                                List.copyOf(screeningsByMovie.get(movie.getId()))))
+                                .collect(Collectors.toUnmodifiableList());
+        }
+
+        private static List<MovieWithScreeningsDTO> withUpcomingScreenings(List<MovieCard> cards) {
                 LocalDateTime now = LocalDateTime.now();
-                LocalDateTime oneWeekLater = today.plusDays(7).atTime(23, 59, 59);
-
-                List<Movie> activeMovies = movieRepository.findByIsActiveTrue();
-
-                return activeMovies.stream()
-                                .map(movie -> {
-                                        List<Screening> screenings = screeningRepository.findAll().stream()
-                                                        .filter(screening -> screening.getMovie().getId()
-                                                                        .equals(movie.getId()) &&
-                                                                        screening.getStartTime().isAfter(now) &&
-                                                                        screening.getStartTime().isBefore(oneWeekLater))
-                                                        .collect(Collectors.toList());
-                                        return new MovieWithScreeningsDTO(movie, screenings);
-                                })
+                LocalDateTime oneWeekLater = now.toLocalDate().plusDays(7).atTime(23, 59, 59);
+
+                return cards.stream()
+                                .map(card -> new MovieWithScreeningsDTO(
+                                                card.id(),
+                                                card.title(),
+                                                card.posterUrl(),
+                                                card.durationMinutes(),
+                                                card.rating(),
+                                                card.genres(),
+                                                card.isFeatured(),
+                                                card.screenings().stream()
+                                                                .filter(screening -> screening.getStartTime().isAfter(now) &&
+                                                                                screening.getStartTime().isBefore(oneWeekLater))
+                                                                .collect(Collectors.toList()),
+                                                card.ageRating()))
                                 .filter(dto -> !dto.getScreenings().isEmpty())
                                 .collect(Collectors.toList());
         }
@@ -110,4 +217,20 @@ public class HomePageService {
                 dto.setAvailableSeats(screening.getAvailableSeats());
                 return dto;
         }
-}
\ No newline at end of file
+
+        /**
+         * Everything the home page shows, with screenings sorted by start time.
+         * The ScreeningDTOs are shared by every response and never modified
+         * after the build.
+         */
+        private record Snapshot(LocalDateTime builtAt, List<Showing> screenings, Set<Long> featuredMovieIds,
+                        List<MovieCard> featuredMovies, List<MovieCard> currentMovies) {
+        }
+
+        private record Showing(Long movieId, ScreeningDTO screening) {
+        }
+
+        private record MovieCard(Long id, String title, String posterUrl, Integer durationMinutes, String rating,
+                        Set<String> genres, Boolean isFeatured, String ageRating, List<ScreeningDTO> screenings) {
+        }
+}
@@ -0,0 +1,169 @@
+package org.example.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.model.IdempotencyRecord;
+import org.example.backend.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the response of every POST sent with an Idempotency-Key so retries
+ * get the same answer instead of executing again. Finished responses are kept
+ * in a bounded LRU cache in front of the idempotency_record table; the table is
+ * what makes a key visible to every node.
+ * <p>
+ * A request that runs longer than idempotency.in-progress-timeout-seconds can
+ * have its key taken over by a retry. Each claim is therefore identified by
+ * the created_at it wrote, and only that claim may complete or abandon the row.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class IdempotencyService {
+
+    // Inserts the key, or takes over a row that expired or whose request was abandoned mid-flight
+    private static final String CLAIM_SQL =
+            "INSERT INTO idempotency_record (idempotency_key, request_hash, created_at, expires_at) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (idempotency_key) DO UPDATE SET request_hash = EXCLUDED.request_hash, " +
+            "response_status = NULL, content_type = NULL, response_body = NULL, " +
+            "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_record.expires_at < ? " +
+            "OR (idempotency_record.response_status IS NULL AND idempotency_record.created_at < ?)";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${idempotency.in-progress-timeout-seconds:60}")
+    private long inProgressTimeoutSeconds;
+
+    @Value("${idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    private Map<String, StoredResponse> cache;
+
+    @PostConstruct
+    void createCache() {
+        cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public enum Outcome {
+        /** First request with this key: execute it and report the result. */
+        PROCEED,
+        /** The key already has a response: send it back. */
+        REPLAY,
+        /** A request with this key is still running. */
+        IN_PROGRESS,
+        /** The key was used before for a different request body. */
+        MISMATCH
+    }
+
+    /**
+     * @param claimedAt set with {@link Outcome#PROCEED}; pass it back to {@link #complete} or {@link #abandon}
+     */
+    public record Decision(Outcome outcome, StoredResponse response, LocalDateTime claimedAt) {
+    }
+
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body,
+            LocalDateTime expiresAt) {
+    }
+
+    public Decision begin(String key, String requestHash) {
+        // Stored as timestamp(6), so it must compare equal after the round trip
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        StoredResponse cached = cached(key, now);
+        if (cached != null) {
+            return decide(cached, requestHash);
+        }
+
+        int claimed = jdbcTemplate.update(CLAIM_SQL, key, requestHash,
+                Timestamp.valueOf(now), Timestamp.valueOf(now.plusMinutes(ttlMinutes)),
+                Timestamp.valueOf(now), Timestamp.valueOf(now.minusSeconds(inProgressTimeoutSeconds)));
+        if (claimed == 1) {
+            return new Decision(Outcome.PROCEED, null, now);
+        }
+
+        IdempotencyRecord record = idempotencyRecordRepository.findById(key).orElse(null);
+        if (record == null || record.getResponseStatus() == null) {
+            return new Decision(record != null && !record.getRequestHash().equals(requestHash)
+                    ? Outcome.MISMATCH : Outcome.IN_PROGRESS, null, null);
+        }
+
+        StoredResponse stored = new StoredResponse(record.getRequestHash(), record.getResponseStatus(),
+                record.getContentType(), record.getResponseBody(), record.getExpiresAt());
+        cache(key, stored);
+        return decide(stored, requestHash);
+    }
+
+    public void complete(String key, LocalDateTime claimedAt, String requestHash, int status, String contentType,
+            byte[] body) {
+        if (idempotencyRecordRepository.complete(key, claimedAt, status, contentType, body) == 0) {
+            log.warn("Idempotency key was taken over by a retry before its first request finished; "
+                    + "dropping the response of the first one");
+            return;
+        }
+        cache(key, new StoredResponse(requestHash, status, contentType, body,
+                LocalDateTime.now().plusMinutes(ttlMinutes)));
+    }
+
+    /**
+     * Forgets a key whose request failed, so the client can retry it. Does
+     * nothing if a retry has taken the key over meanwhile.
+     */
+    public void abandon(String key, LocalDateTime claimedAt) {
+        idempotencyRecordRepository.abandon(key, claimedAt);
+    }
+
+    @Scheduled(fixedRate = 3600000)
+    public void purgeExpired() {
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency records", deleted);
+        }
+    }
+
+    private Decision decide(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            return new Decision(Outcome.MISMATCH, null, null);
+        }
+        return new Decision(Outcome.REPLAY, stored, null);
+    }
+
+    private StoredResponse cached(String key, LocalDateTime now) {
+        synchronized (this) {
+            StoredResponse stored = cache.get(key);
+            if (stored != null && stored.expiresAt().isBefore(now)) {
+                cache.remove(key);
+                return null;
+            }
+            return stored;
+        }
+    }
+
+    private void cache(String key, StoredResponse stored) {
+        synchronized (this) {
+            cache.put(key, stored);
+        }
+    }
+}
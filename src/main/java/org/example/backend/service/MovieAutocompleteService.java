@@ -0,0 +1,89 @@
+package org.example.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.MovieSuggestionDTO;
+import org.example.backend.event.CatalogChangedEvent;
+import org.example.backend.repository.MovieRepository;
+import org.example.backend.service.catalog.MovieAutocompleteIndex;
+import org.example.backend.service.snapshot.RebuildingSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Title, director and tag suggestions for the search box, answered from an
+ * in-memory {@link MovieAutocompleteIndex} instead of calling TMDB on every
+ * keystroke. The index is rebuilt in the background when movies change, and
+ * periodically to pick up changes made on other nodes.
+ */
+@Service
+@RequiredArgsConstructor
+public class MovieAutocompleteService {
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final MovieRepository movieRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${movie-autocomplete.debounce-millis:1000}")
+    private long debounceMillis;
+
+    @Value("${movie-autocomplete.retry-millis:30000}")
+    private long retryMillis;
+
+    private RebuildingSnapshot<MovieAutocompleteIndex> index;
+
+    @PostConstruct
+    void createIndex() {
+        index = new RebuildingSnapshot<>("movie-autocomplete", this::build, built -> {
+        }, retryMillis);
+    }
+
+    public List<MovieSuggestionDTO> suggest(String prefix, int limit) {
+        return index.get().suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        index.requestRebuild(0);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getKind() == CatalogChangedEvent.Kind.MOVIES) {
+            index.requestRebuild(debounceMillis);
+        }
+    }
+
+    // Changes committed on other nodes publish no event here
+    @Scheduled(fixedRateString = "${movie-autocomplete.refresh-millis:300000}",
+            initialDelayString = "${movie-autocomplete.refresh-millis:300000}")
+    public void refresh() {
+        index.requestRebuild(0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        index.close();
+    }
+
+    private MovieAutocompleteIndex build() {
+        return transactionTemplate.execute(status -> {
+            Map<Long, List<String>> tags = new HashMap<>();
+            for (MovieRepository.MovieTagView tag : movieRepository.findActiveMovieTags()) {
+                tags.computeIfAbsent(tag.getMovieId(), id -> new ArrayList<>()).add(tag.getTag());
+            }
+            return MovieAutocompleteIndex.build(movieRepository.findByIsActiveTrue(), tags);
+        });
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.MovieDTO;
+import org.example.backend.event.CatalogChangedEvent;
+import org.example.backend.repository.MovieRepository;
+import org.example.backend.repository.ScreeningRepository;
+import org.example.backend.service.catalog.MovieCatalogIndex;
+import org.example.backend.service.snapshot.RebuildingSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers the movie filter page from an in-memory {@link MovieCatalogIndex},
+ * rebuilt in the background when movies or screenings change, and
+ * periodically to pick up changes made on other nodes.
+ */
+@Service
+@RequiredArgsConstructor
+public class MovieCatalogService {
+
+    private final MovieRepository movieRepository;
+    private final ScreeningRepository screeningRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${movie-catalog.debounce-millis:2000}")
+    private long debounceMillis;
+
+    @Value("${movie-catalog.retry-millis:30000}")
+    private long retryMillis;
+
+    private RebuildingSnapshot<MovieCatalogIndex> index;
+
+    @PostConstruct
+    void createIndex() {
+        index = new RebuildingSnapshot<>("movie-catalog", this::build, built -> {
+        }, retryMillis);
+    }
+
+    public List<MovieDTO> filter(String searchTerm, List<String> genres, String duration, String rating,
+            String timeFrame, String sortBy) {
+        return index.get().filter(searchTerm, genres, duration, rating, timeFrame, sortBy, LocalDateTime.now());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        index.requestRebuild(0);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getKind() == CatalogChangedEvent.Kind.MOVIES
+                || event.getKind() == CatalogChangedEvent.Kind.SCREENINGS) {
+            index.requestRebuild(debounceMillis);
+        }
+    }
+
+    // Changes committed on other nodes publish no event here
+    @Scheduled(fixedRateString = "${movie-catalog.refresh-millis:300000}",
+            initialDelayString = "${movie-catalog.refresh-millis:300000}")
+    public void refresh() {
+        index.requestRebuild(0);
+    }
+
+    // Drops the screenings that have started since the last build
+    @Scheduled(cron = "0 0 0 * * *")
+    public void rebuildAtMidnight() {
+        index.requestRebuild(0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        index.close();
+    }
+
+    private MovieCatalogIndex build() {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status -> {
+            List<MovieDTO> movies = movieRepository.findByIsActiveTrue().stream()
+                    .map(MovieDTO::fromMovie)
+                    .toList();
+
+            Map<Long, List<LocalDateTime>> screeningStarts = new HashMap<>();
+            for (ScreeningRepository.MovieStartView screening : screeningRepository.findStartTimesFrom(now)) {
+                screeningStarts.computeIfAbsent(screening.getMovieId(), id -> new ArrayList<>())
+                        .add(screening.getStartTime());
+            }
+            return MovieCatalogIndex.build(movies, screeningStarts);
+        });
+    }
+}
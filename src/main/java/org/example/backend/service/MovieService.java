@@ -1,21 +1,27 @@
 package org.example.backend.service;
 
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.TypedQuery;
-import jakarta.persistence.criteria.*;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.CursorPage;
+import org.example.backend.dto.MovieDTO;
 import org.example.backend.dto.MovieDetails;
+import org.example.backend.dto.MovieSearchCursor;
 import org.example.backend.dto.MovieSearchResponse;
+import org.example.backend.dto.MovieSummaryDTO;
+import org.example.backend.event.CatalogChangedEvent;
+import org.example.backend.exception.InvalidCursorException;
 import org.example.backend.model.Genre;
 import org.example.backend.model.Movie;
 import org.example.backend.model.Screening;
 import org.example.backend.repository.GenreRepository;
 import org.example.backend.repository.MovieRepository;
-import org.example.backend.repository.ScreeningRepository;
+import org.example.backend.repository.MovieRepositoryCustom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -24,6 +30,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
+import static org.example.backend.service.TransactionCallbacks.afterCommit;
+
 @Service
 @RequiredArgsConstructor
 public class MovieService {
@@ -34,10 +42,13 @@ public class MovieService {
     // And also add a logger
     private static final Logger log = LoggerFactory.getLogger(MovieService.class);
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_CATALOG_PAGE_SIZE = 100;
+
     private final MovieRepository movieRepository;
     private final TMDBService tmdbService;
     private final GenreRepository genreRepository;
-    private final ScreeningRepository screeningRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Movie createMovieFromTMDB(Integer tmdbId) {
@@ -120,6 +131,7 @@ public class MovieService {
             savedMovie = movieRepository.save(savedMovie);
         }
 
+        catalogChanged();
         return savedMovie;
     }
 
@@ -134,118 +146,90 @@ public class MovieService {
         return response.getResults();
     }
 
-    public List<Movie> getAllActiveMovies() {
-        log.debug("Calling repository to get active movies");
-        return movieRepository.findByIsActiveTrue();
+    /**
+     * Ranked search over the local catalog, paginated by keyset on (score, id).
+     * A blank query matches nothing.
+     */
+    @Transactional
+    public CursorPage<MovieDTO> searchLocalMovies(String query, String after, int limit) {
+        if (query == null || query.isBlank()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_SEARCH_PAGE_SIZE);
+        // One extra hit tells whether there is a next page
+        List<MovieRepositoryCustom.SearchHit> hits =
+                movieRepository.searchLocal(query.trim(), MovieSearchCursor.parse(after), pageSize + 1);
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            MovieRepositoryCustom.SearchHit last = hits.get(pageSize - 1);
+            nextCursor = new MovieSearchCursor(last.score(), last.id()).toString();
+        }
+
+        Map<Long, Movie> moviesById = new HashMap<>();
+        for (Movie movie : movieRepository.findAllById(hits.stream().map(MovieRepositoryCustom.SearchHit::id).toList())) {
+            moviesById.put(movie.getId(), movie);
+        }
+        List<MovieDTO> movies = hits.stream()
+                .map(hit -> moviesById.get(hit.id()))
+                .filter(Objects::nonNull)
+                .map(MovieDTO::fromMovie)
+                .toList();
+        return new CursorPage<>(movies, nextCursor);
     }
 
-    public List<Movie> getFilteredMovies(
-            String searchTerm,
-            List<String> genres,
-            String duration,
-            String rating,
-            String timeFrame,
-            String sortBy) {
-        
-        log.info("Filtering movies with parameters: searchTerm={}, genres={}, duration={}, rating={}, timeFrame={}, sortBy={}",
-                searchTerm, genres, duration, rating, timeFrame, sortBy);
-        
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Movie> query = cb.createQuery(Movie.class);
-        Root<Movie> movie = query.from(Movie.class);
-        
-        // Always filter for active movies
-        List<Predicate> predicates = new ArrayList<>();
-        predicates.add(cb.equal(movie.get("isActive"), true));
-        
-        // Filter by search term if provided
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            String searchPattern = "%" + searchTerm.toLowerCase() + "%";
-            predicates.add(cb.like(cb.lower(movie.get("title")), searchPattern));
+    /**
+     * Keyset pagination over the active movies in id order. Each page costs two
+     * queries however large the catalog is: the movie columns as a projection,
+     * then the genres and tags of that page together.
+     */
+    public CursorPage<MovieSummaryDTO> getActiveMoviesPage(String after, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_CATALOG_PAGE_SIZE);
+        // One extra row tells whether there is a next page
+        List<MovieRepository.MovieSummaryView> views =
+                movieRepository.findActiveSummariesAfter(parseMovieCursor(after), Limit.of(pageSize + 1));
+        String nextCursor = null;
+        if (views.size() > pageSize) {
+            views = views.subList(0, pageSize);
+            nextCursor = String.valueOf(views.get(pageSize - 1).getId());
         }
-        
-        // Filter by genres if provided
-        if (genres != null && !genres.isEmpty()) {
-            Join<Movie, Genre> genreJoin = movie.join("genres");
-            predicates.add(genreJoin.get("name").in(genres));
+        if (views.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        Map<Long, MovieSummaryDTO> moviesById = new LinkedHashMap<>();
+        for (MovieRepository.MovieSummaryView view : views) {
+            moviesById.put(view.getId(), MovieSummaryDTO.fromView(view));
         }
-        
-        // Filter by duration
-        if (duration != null && !duration.isEmpty()) {
-            switch (duration) {
-                case "short":
-                    predicates.add(cb.lessThan(movie.get("durationMinutes"), 90));
-                    break;
-                case "medium":
-                    predicates.add(cb.between(movie.get("durationMinutes"), 90, 120));
-                    break;
-                case "long":
-                    predicates.add(cb.greaterThan(movie.get("durationMinutes"), 120));
-                    break;
+        for (MovieRepository.MovieLabelView label : movieRepository.findLabelsByMovieIds(moviesById.keySet())) {
+            MovieSummaryDTO movie = moviesById.get(label.getMovieId());
+            if ("GENRE".equals(label.getKind())) {
+                movie.getGenreNames().add(label.getName());
+            } else {
+                movie.getTags().add(label.getName());
             }
         }
-        
-        // Filter by rating
-        if (rating != null && !rating.isEmpty()) {
-            predicates.add(cb.equal(movie.get("rating"), rating));
+        for (MovieSummaryDTO movie : moviesById.values()) {
+            Collections.sort(movie.getGenreNames());
+            Collections.sort(movie.getTags());
         }
-        
-        // Filter by time frame (movies with screenings in the specified time period)
-        if (timeFrame != null && !timeFrame.isEmpty()) {
-            LocalDateTime startTime = LocalDateTime.now();
-            LocalDateTime endTime;
-            
-            switch (timeFrame) {
-                case "today":
-                    endTime = startTime.toLocalDate().atTime(23, 59, 59);
-                    break;
-                case "week":
-                    endTime = startTime.plusDays(7);
-                    break;
-                default:
-                    endTime = startTime.plusYears(1); // Far future for "all"
-                    break;
-            }
-            
-            // Get movie IDs with screenings in the time range
-            List<Long> movieIdsWithScreenings = screeningRepository.findMovieIdsWithScreeningsBetween(startTime, endTime);
-            
-            if (!movieIdsWithScreenings.isEmpty()) {
-                predicates.add(movie.get("id").in(movieIdsWithScreenings));
-            }
+        return new CursorPage<>(List.copyOf(moviesById.values()), nextCursor);
+    }
+
+    private static long parseMovieCursor(String after) {
+        if (after == null || after.isBlank()) {
+            return 0;
         }
-        
-        // Apply predicates to query
-        query.where(predicates.toArray(new Predicate[0]));
-        
-        // Apply sorting
-        if (sortBy != null && !sortBy.isEmpty()) {
-            switch (sortBy) {
-                case "title-asc":
-                    query.orderBy(cb.asc(movie.get("title")));
-                    break;
-                case "title-desc":
-                    query.orderBy(cb.desc(movie.get("title")));
-                    break;
-                case "rating":
-                    query.orderBy(cb.desc(movie.get("voteAverage")));
-                    break;
-                default:
-                    query.orderBy(cb.asc(movie.get("title")));
-                    break;
-            }
-        } else {
-            // Default sort by title
-            query.orderBy(cb.asc(movie.get("title")));
+        try {
+            return Long.parseLong(after);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor: " + after);
         }
-        
-        // Execute query
-        TypedQuery<Movie> typedQuery = entityManager.createQuery(query);
-        List<Movie> filteredMovies = typedQuery.getResultList();
-        
-        log.info("Found {} movies after filtering", filteredMovies.size());
-        
-        return filteredMovies;
+    }
+
+    public List<Movie> getAllActiveMovies() {
+        log.debug("Calling repository to get active movies");
+        return movieRepository.findByIsActiveTrue();
     }
 
     public Movie updateMovie(Long id, Movie movieDetails) {
@@ -268,25 +252,36 @@ public class MovieService {
             movie.setGenres(movieDetails.getGenres());
         }
 
-        return movieRepository.save(movie);
+        Movie savedMovie = movieRepository.save(movie);
+        catalogChanged();
+        return savedMovie;
     }
 
     public Movie deactivateMovie(Long id) {
         Movie movie = getMovieById(id);
         movie.setIsActive(false);
         movie.setUpdatedAt(LocalDateTime.now());
-        return movieRepository.save(movie);
+        Movie savedMovie = movieRepository.save(movie);
+        catalogChanged();
+        return savedMovie;
     }
 
     public Movie activateMovie(Long id) {
         Movie movie = getMovieById(id);
         movie.setIsActive(true);
         movie.setUpdatedAt(LocalDateTime.now());
-        return movieRepository.save(movie);
+        Movie savedMovie = movieRepository.save(movie);
+        catalogChanged();
+        return savedMovie;
     }
 
     public void deleteMovie(Long id) {
         Movie movie = getMovieById(id);
         movieRepository.delete(movie);
+        catalogChanged();
+    }
+
+    private void catalogChanged() {
+        afterCommit(() -> eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.MOVIES)));
     }
 }
\ No newline at end of file
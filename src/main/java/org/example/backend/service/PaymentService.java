@@ -21,6 +21,7 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -32,6 +33,9 @@ public class PaymentService {
     private final ReservationRepository reservationRepository;
     private final StripeConfig stripeConfig;
     private final TicketService ticketService;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatClaimService seatClaimService;
+    private final ReservationLeaseService reservationLeaseService;
     private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
 
     @Value("${stripe.seat.price}")
@@ -95,8 +99,9 @@ public class PaymentService {
         paymentRepository.save(payment);
 
         Reservation reservation = payment.getReservation();
-        reservation.setStatus(ReservationStatus.CONFIRMED);
-        reservationRepository.save(reservation);
+        if (!confirmReservation(payment)) {
+            return;
+        }
         
         // Generar y enviar el ticket
         // IMPORTANT: Email sending is only done in this method (handleSessionCompleted) 
@@ -123,16 +128,7 @@ public class PaymentService {
             payment.setStatus(PaymentStatus.SUCCEEDED);
             paymentRepository.save(payment);
 
-            Reservation reservation = payment.getReservation();
-            
-            // Check if the reservation is already confirmed, if not, confirm it
-            if (reservation.getStatus() != ReservationStatus.CONFIRMED) {
-                reservation.setStatus(ReservationStatus.CONFIRMED);
-                reservationRepository.save(reservation);
-                log.info("Reservation status updated to CONFIRMED for reservation ID: {}", reservation.getId());
-            } else {
-                log.info("Reservation already confirmed, skipping status update for ID: {}", reservation.getId());
-            }
+            confirmReservation(payment);
             
             // Removed ticket generation and email sending from here to avoid duplication
             // The ticket will be sent only from handleSessionCompleted
@@ -141,6 +137,57 @@ public class PaymentService {
         }
     }
 
+    /**
+     * Moves the paid reservation to CONFIRMED. The transition only applies to a
+     * PENDING reservation: if the lease or the cleanup sweep cancelled it before
+     * the payment completed, its seat claims are gone, so they are claimed again.
+     * When some seat has been taken meanwhile the payment is flagged
+     * REFUND_REQUIRED instead and the reservation stays cancelled.
+     *
+     * @return true if the reservation is confirmed
+     */
+    private boolean confirmReservation(Payment payment) {
+        Reservation reservation = payment.getReservation();
+        Long reservationId = reservation.getId();
+
+        if (reservationRepository.confirmIfPending(reservationId) == 1) {
+            reservation.setStatus(ReservationStatus.CONFIRMED);
+            reservationLeaseService.release(reservationId);
+            log.info("Reservation status updated to CONFIRMED for reservation ID: {}", reservationId);
+            return true;
+        }
+
+        ReservationStatus status = reservationRepository.findStatusById(reservationId);
+        reservation.setStatus(status);
+        if (status == ReservationStatus.CONFIRMED) {
+            log.info("Reservation already confirmed, skipping status update for ID: {}", reservationId);
+            return true;
+        }
+
+        Long screeningId = reservation.getScreening().getId();
+        List<Long> seatIds = reservation.getSeatReservations().stream()
+                .map(sr -> sr.getSeat().getId())
+                .toList();
+        if (!reservation.getScreening().hasStarted() && !seatIds.isEmpty()) {
+            if (seatClaimService.claim(screeningId, reservationId, seatIds).isEmpty()) {
+                reservation.setStatus(ReservationStatus.CONFIRMED);
+                reservationRepository.save(reservation);
+                seatInventoryService.reserve(screeningId, seatIds);
+                log.warn("Reservation {} was cancelled before its payment completed; its seats were claimed again",
+                        reservationId);
+                return true;
+            }
+            // Drop the partial claim; those seats were never marked held
+            seatClaimService.releaseReservation(reservationId);
+        }
+
+        payment.setStatus(PaymentStatus.REFUND_REQUIRED);
+        paymentRepository.save(payment);
+        log.error("Payment {} completed for reservation {}, which was cancelled and whose seats are no longer "
+                + "available; flagged for refund", payment.getId(), reservationId);
+        return false;
+    }
+
     public void handlePaymentFailed(String paymentIntentId) {
         try {
             Payment payment = paymentRepository.findByStripePaymentIntentId(paymentIntentId)
@@ -156,6 +203,11 @@ public class PaymentService {
             paymentRepository.save(payment);
 
             Reservation reservation = payment.getReservation();
+            if (reservation.getStatus() != ReservationStatus.CANCELLED) {
+                seatInventoryService.release(reservation.getScreening().getId(),
+                        seatClaimService.releaseReservation(reservation.getId()));
+                reservationLeaseService.release(reservation.getId());
+            }
             reservation.setStatus(ReservationStatus.CANCELLED);
             reservationRepository.save(reservation);
         } catch (Exception e) {
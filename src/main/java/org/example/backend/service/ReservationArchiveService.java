@@ -0,0 +1,108 @@
+package org.example.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves reservations of screenings that ended more than
+ * reservation.archive.after-days ago, together with their seats and payment,
+ * into the *_archive tables. The reservation, seat_reservation and payment
+ * tables then only hold recent data, so they and their indexes stay small.
+ * Archived rows are still readable through {@link org.example.backend.model.ReservationHistory}.
+ * <p>
+ * Each batch is moved by one statement in its own transaction on a stateless
+ * session, so no entities are loaded and nothing accumulates in a persistence
+ * context however many rows are archived.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationArchiveService {
+
+    // Deletes a batch of reservations and everything hanging off them, inserting the
+    // deleted rows into the archive tables. Seat claims of an ended screening are dropped.
+    private static final String ARCHIVE_BATCH_SQL =
+            "WITH batch AS (" +
+            "SELECT r.id FROM reservation r JOIN screening s ON s.id = r.screening_id " +
+            "WHERE s.end_time < :cutoff ORDER BY r.id LIMIT :batchSize FOR UPDATE OF r SKIP LOCKED), " +
+            "moved_payments AS (" +
+            "DELETE FROM payment p USING batch b WHERE p.reservation_id = b.id " +
+            "RETURNING p.id, p.amount, p.payment_date, p.status, p.stripe_checkout_id, " +
+            "p.stripe_payment_intent_id, p.reservation_id), " +
+            "archived_payments AS (" +
+            "INSERT INTO payment_archive (id, amount, payment_date, status, stripe_checkout_id, " +
+            "stripe_payment_intent_id, reservation_id) SELECT * FROM moved_payments), " +
+            "moved_seats AS (" +
+            "DELETE FROM seat_reservation sr USING batch b WHERE sr.reservation_id = b.id " +
+            "RETURNING sr.id, sr.reservation_id, sr.seat_id), " +
+            "archived_seats AS (" +
+            "INSERT INTO seat_reservation_archive (id, reservation_id, seat_id) SELECT * FROM moved_seats), " +
+            "released_claims AS (" +
+            "DELETE FROM screening_seat_claim c USING batch b WHERE c.reservation_id = b.id), " +
+            "moved AS (" +
+            "DELETE FROM reservation r USING batch b WHERE r.id = b.id " +
+            "RETURNING r.id, r.reservation_date, r.created_at, r.status, r.user_id, r.screening_id) " +
+            "INSERT INTO reservation_archive (id, reservation_date, created_at, status, user_id, " +
+            "screening_id, archived_at) " +
+            "SELECT moved.*, :archivedAt FROM moved";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${reservation.archive.after-days:90}")
+    private int archiveAfterDays;
+
+    @Value("${reservation.archive.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(cron = "${reservation.archive.cron:0 0 4 * * *}")
+    public void archivePastReservations() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusDays(archiveAfterDays);
+
+        int archived = 0;
+        try (StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession()) {
+            int moved;
+            do {
+                moved = archiveBatch(session, cutoff, now);
+                archived += moved;
+            } while (moved == batchSize);
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} reservations of screenings that ended before {}", archived, cutoff);
+        }
+    }
+
+    private int archiveBatch(StatelessSession session, LocalDateTime cutoff, LocalDateTime archivedAt) {
+        Transaction transaction = session.beginTransaction();
+        try {
+            // Without query spaces Hibernate assumes every table changed and clears the whole second-level cache
+            int moved = session.createNativeQuery(ARCHIVE_BATCH_SQL)
+                    .addSynchronizedQuerySpace("reservation")
+                    .addSynchronizedQuerySpace("seat_reservation")
+                    .addSynchronizedQuerySpace("payment")
+                    .addSynchronizedQuerySpace("screening_seat_claim")
+                    .addSynchronizedQuerySpace("reservation_archive")
+                    .addSynchronizedQuerySpace("seat_reservation_archive")
+                    .addSynchronizedQuerySpace("payment_archive")
+                    .setParameter("cutoff", cutoff)
+                    .setParameter("batchSize", batchSize)
+                    .setParameter("archivedAt", archivedAt)
+                    .executeUpdate();
+            transaction.commit();
+            return moved;
+        } catch (RuntimeException e) {
+            transaction.rollback();
+            throw e;
+        }
+    }
+}
@@ -2,57 +2,132 @@ package org.example.backend.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.backend.model.Reservation;
-import org.example.backend.model.enums.ReservationStatus;
-import org.example.backend.repository.ReservationRepository;
+import org.example.backend.event.ReservationsExpiredEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ReservationCleanupService {
 
-    private final ReservationRepository reservationRepository;
-    
+    // Cancela un bloque de reservas vencidas usando el índice (status, created_at);
+    // SKIP LOCKED evita esperar a reservas que otra transacción está confirmando
+    private static final String EXPIRE_CHUNK_SQL =
+            "UPDATE reservation SET status = 'CANCELLED' WHERE id IN (" +
+            "SELECT id FROM reservation WHERE status = 'PENDING' AND created_at < ? " +
+            "ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id";
+
+    private static final String EXPIRE_IDS_SQL =
+            "UPDATE reservation SET status = 'CANCELLED' WHERE id = ANY(?) AND status = 'PENDING' " +
+            "RETURNING id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatClaimService seatClaimService;
+    private final ApplicationEventPublisher eventPublisher;
+
     // Tiempo máximo (en minutos) que una reserva puede estar en estado PENDING
-    private static final int RESERVATION_TIMEOUT_MINUTES = 15; // 1.5 minutos
+    @Value("${reservation.pending-timeout-minutes:15}")
+    private int reservationTimeoutMinutes;
+
+    // Reservas canceladas por sentencia, y bloques como máximo por ejecución
+    @Value("${reservation.cleanup.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${reservation.cleanup.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
 
     /**
-     * Tarea programada que se ejecuta cada minuto para cancelar reservas pendientes
-     * que han excedido el tiempo límite.
+     * Red de seguridad: las reservas expiran normalmente a través de
+     * ReservationLeaseService; esta tarea recoge las que se hayan escapado
+     * (por ejemplo, creadas por otra instancia o perdidas por un fallo).
+     * Cada bloque se cancela en su propia transacción, así que el tiempo de
+     * bloqueo y la duración de la ejecución están acotados.
      */
-    @Scheduled(fixedRate = 60000) // Ejecutar cada minuto
-    @Transactional
+    @Scheduled(fixedRate = 600000) // Ejecutar cada 10 minutos
     public void cleanupExpiredReservations() {
-        log.info("Iniciando limpieza de reservas expiradas");
-        
+        log.debug("Iniciando limpieza de reservas expiradas");
+
         // Calcular el tiempo límite (ahora menos el tiempo de expiración)
-        LocalDateTime expirationTime = LocalDateTime.now().minusMinutes(RESERVATION_TIMEOUT_MINUTES);
-        
-        // Buscar todas las reservas en estado PENDING creadas antes del tiempo de expiración
-        List<Reservation> expiredReservations = reservationRepository.findByStatusAndCreatedAtBefore(
-                ReservationStatus.PENDING, expirationTime);
-        
-        if (!expiredReservations.isEmpty()) {
-            log.info("Se encontraron {} reservas expiradas para cancelar", expiredReservations.size());
-            
-            // Cambiar el estado de todas las reservas expiradas a CANCELLED
-            for (Reservation reservation : expiredReservations) {
-                reservation.setStatus(ReservationStatus.CANCELLED);
-                log.info("Cancelando reserva expirada: ID={}, creada el {}", 
-                        reservation.getId(), reservation.getCreatedAt());
+        Timestamp expirationTime = Timestamp.valueOf(LocalDateTime.now().minusMinutes(reservationTimeoutMinutes));
+
+        int cancelled = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            List<Long> expiredIds = expire(EXPIRE_CHUNK_SQL, (ps, connection) -> {
+                ps.setTimestamp(1, expirationTime);
+                ps.setInt(2, chunkSize);
+            });
+            cancelled += expiredIds.size();
+            if (expiredIds.size() < chunkSize) {
+                break;
             }
-            
-            // Guardar todas las reservas actualizadas
-            reservationRepository.saveAll(expiredReservations);
-            log.info("Se han cancelado {} reservas expiradas", expiredReservations.size());
+        }
+
+        if (cancelled > 0) {
+            log.info("Se han cancelado {} reservas expiradas", cancelled);
         } else {
             log.debug("No se encontraron reservas expiradas");
         }
     }
+
+    /**
+     * Cancela las reservas cuyo lease ha vencido. Las que ya no están en
+     * estado PENDING (confirmadas o canceladas entretanto) se ignoran.
+     */
+    public void expireReservations(Collection<Long> reservationIds) {
+        expire(EXPIRE_IDS_SQL, (ps, connection) ->
+                ps.setArray(1, connection.createArrayOf("bigint", reservationIds.toArray())));
+    }
+
+    /**
+     * Ejecuta una sentencia de expiración y libera los asientos de las reservas
+     * canceladas en la misma transacción. Tras el commit publica los asientos
+     * liberados como ReservationsExpiredEvent.
+     */
+    private List<Long> expire(String sql, StatementBinder binder) {
+        ExpiredChunk expired = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql);
+                binder.bind(ps, connection);
+                return ps;
+            }, (rs, rowNum) -> rs.getLong(1));
+
+            Map<Long, Set<Long>> freedSeats = seatClaimService.releaseReservations(ids);
+            // Liberar los asientos en el inventario en memoria una vez confirmada la transacción
+            freedSeats.forEach(seatInventoryService::release);
+            return new ExpiredChunk(ids, freedSeats);
+        });
+
+        if (expired == null || expired.ids().isEmpty()) {
+            return List.of();
+        }
+        log.debug("Reservas expiradas canceladas: {}", expired.ids());
+        eventPublisher.publishEvent(new ReservationsExpiredEvent(expired.ids(), expired.freedSeats()));
+        return expired.ids();
+    }
+
+    private record ExpiredChunk(List<Long> ids, Map<Long, Set<Long>> freedSeats) {
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(PreparedStatement ps, Connection connection) throws SQLException;
+    }
 }
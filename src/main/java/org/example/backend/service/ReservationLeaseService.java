@@ -0,0 +1,93 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.event.ReservationsExpiredEvent;
+import org.example.backend.model.enums.ReservationStatus;
+import org.example.backend.repository.ReservationRepository;
+import org.example.backend.service.lease.HierarchicalTimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.example.backend.service.TransactionCallbacks.afterCommit;
+
+/**
+ * Tracks the hold deadline of every PENDING reservation in a timing wheel and
+ * cancels each reservation within a second of its deadline passing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationLeaseService {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 64;
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationCleanupService reservationCleanupService;
+
+    private final HierarchicalTimingWheel wheel =
+            new HierarchicalTimingWheel(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+
+    @Value("${reservation.pending-timeout-minutes:15}")
+    private int pendingTimeoutMinutes;
+
+    /**
+     * Starts the lease of a new reservation once the surrounding transaction commits.
+     */
+    public void register(Long reservationId, LocalDateTime createdAt) {
+        long deadline = deadlineOf(createdAt);
+        afterCommit(() -> wheel.schedule(reservationId, deadline));
+    }
+
+    /**
+     * Drops the lease of a reservation that was confirmed or cancelled.
+     */
+    public void release(Long reservationId) {
+        afterCommit(() -> wheel.cancel(reservationId));
+    }
+
+    /**
+     * Drops the leases of reservations cancelled by the expiry sweep.
+     */
+    @EventListener
+    public void onReservationsExpired(ReservationsExpiredEvent event) {
+        event.getReservationIds().forEach(wheel::cancel);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildLeases() {
+        List<ReservationRepository.LeaseView> pending =
+                reservationRepository.findLeasesByStatus(ReservationStatus.PENDING);
+        for (ReservationRepository.LeaseView lease : pending) {
+            wheel.schedule(lease.getId(), deadlineOf(lease.getCreatedAt()));
+        }
+        log.info("Rebuilt {} reservation leases", pending.size());
+    }
+
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void expireLeases() {
+        List<Long> expired = wheel.advance(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+        try {
+            reservationCleanupService.expireReservations(expired);
+        } catch (RuntimeException e) {
+            // The periodic cleanup job picks these up on its next run
+            log.error("Error expiring reservations {}: {}", expired, e.getMessage(), e);
+        }
+    }
+
+    private long deadlineOf(LocalDateTime createdAt) {
+        LocalDateTime start = createdAt != null ? createdAt : LocalDateTime.now();
+        return start.plusMinutes(pendingTimeoutMinutes).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
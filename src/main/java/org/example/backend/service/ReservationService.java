@@ -1,22 +1,31 @@
 package org.example.backend.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.AutoReservationDTO;
 import org.example.backend.dto.ReservationCreateDTO;
 import org.example.backend.dto.SeatModificationDTO;
 import org.example.backend.exception.BusinessException;
+import org.example.backend.exception.SeatNotAvailableException;
 import org.example.backend.model.*;
 import org.example.backend.model.enums.ReservationStatus;
 import org.example.backend.repository.*;
 import org.example.backend.security.service.UserDetailsImpl;
+import org.example.backend.service.inventory.BestSeatFinder;
+import org.example.backend.service.inventory.RoomLayout;
+import org.example.backend.service.inventory.ScreeningSeatMap;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,16 +33,82 @@ import java.util.stream.Collectors;
 @Transactional
 public class ReservationService {
 
+    private static final int AUTO_RESERVATION_ATTEMPTS = 3;
+
     private final ReservationRepository reservationRepository;
     private final ScreeningRepository screeningRepository;
     private final SeatRepository seatRepository;
-    private final SeatReservationRepository seatReservationRepository;
     private final UserRepository userRepository;
     private final PaymentRepository paymentRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatClaimService seatClaimService;
+    private final SeatReservationRepository seatReservationRepository;
+    private final EntityManager entityManager;
+    private final ReservationLeaseService reservationLeaseService;
+    private final ReservationHistoryRepository reservationHistoryRepository;
 
     public Reservation createReservation(ReservationCreateDTO dto) {
+        User user = resolveUser(dto.getUserId());
+        Screening screening = findActiveScreening(dto.getScreeningId());
+
+        if (dto.getSeatIds() == null || dto.getSeatIds().isEmpty()) {
+            throw new BusinessException("At least one seat must be selected");
+        }
+
+        List<Seat> seats = findSeatsOfRoom(dto.getSeatIds(), screening.getRoom().getId());
+
+        Reservation reservation = savePendingReservation(user, screening);
+        claimSeats(screening.getId(), reservation.getId(), seats);
+        return completeReservation(reservation, seats.stream().map(Seat::getId).collect(Collectors.toList()));
+    }
+
+    /**
+     * Picks the best block of adjacent free seats for the party and holds them.
+     * If another reservation claims one of the picked seats first, those seats
+     * are treated as taken and the next best block is tried.
+     */
+    public Reservation createAutoReservation(AutoReservationDTO dto) {
+        User user = resolveUser(dto.getUserId());
+        Screening screening = findActiveScreening(dto.getScreeningId());
+
+        ScreeningSeatMap seatMap = seatInventoryService.getSeatMap(screening.getId());
+        RoomLayout layout = seatMap.getLayout();
+        long[] reservedWords = seatMap.snapshotWords();
+
+        Reservation reservation = null;
+        for (int attempt = 0; attempt < AUTO_RESERVATION_ATTEMPTS; attempt++) {
+            int[] ordinals = BestSeatFinder.find(layout, reservedWords, dto.getPartySize());
+            if (ordinals == null) {
+                break;
+            }
+
+            List<Long> seatIds = new ArrayList<>(ordinals.length);
+            for (int ordinal : ordinals) {
+                seatIds.add(layout.seatIdAt(ordinal));
+            }
+
+            if (reservation == null) {
+                reservation = savePendingReservation(user, screening);
+            }
+            List<Long> conflicts = seatClaimService.claim(screening.getId(), reservation.getId(), seatIds);
+            if (conflicts.isEmpty()) {
+                return completeReservation(reservation, seatIds);
+            }
+
+            // Drop the partial claim and look again without the seats that were taken
+            seatClaimService.releaseReservation(reservation.getId());
+            for (Long seatId : conflicts) {
+                int ordinal = layout.ordinalOf(seatId);
+                reservedWords[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+
+        throw new SeatNotAvailableException(
+                "There are no " + dto.getPartySize() + " adjacent seats available for this screening", List.of());
+    }
+
+    private User resolveUser(Long userId) {
         // Get the authenticated user if userId is not provided
-        Long userId = dto.getUserId();
         if (userId == null) {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
@@ -42,37 +117,47 @@ public class ReservationService {
             } else {
                 throw new BusinessException("User not authenticated or invalid authentication");
             }
+        } else if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found");
         }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        // Only the foreign key is needed, so the user row is never loaded
+        return userRepository.getReferenceById(userId);
+    }
 
-        Screening screening = screeningRepository.findById(dto.getScreeningId())
+    private Screening findActiveScreening(Long screeningId) {
+        Screening screening = screeningRepository.findById(screeningId)
                 .orElseThrow(() -> new EntityNotFoundException("Screening not found"));
 
         if (!screening.isActive()) {
             throw new BusinessException("The screening is no longer available");
         }
+        return screening;
+    }
 
+    private Reservation savePendingReservation(User user, Screening screening) {
         Reservation reservation = new Reservation();
         reservation.setUser(user);
         reservation.setScreening(screening);
         reservation.setReservationDate(LocalDateTime.now());
         reservation.setStatus(ReservationStatus.PENDING);
+        return reservationRepository.save(reservation);
+    }
 
-        for (Long seatId : dto.getSeatIds()) {
-            Seat seat = seatRepository.findById(seatId)
-                    .orElseThrow(() -> new EntityNotFoundException("Seat not found"));
-
-            if (isSeatAlreadyReserved(screening, seat)) {
-                throw new BusinessException(
-                        "The seat " + seat.getRowLabel() + seat.getColumnNumber() + " is already reserved");
-            }
+    /**
+     * Inserts the seat rows of a reservation whose seats are already claimed and
+     * starts its hold lease.
+     */
+    private Reservation completeReservation(Reservation reservation, List<Long> seatIds) {
+        Long screeningId = reservation.getScreening().getId();
+        seatReservationRepository.batchInsert(reservation.getId(), seatIds);
 
-            reservation.addSeatReservation(seat);
-        }
+        // Reload so the returned reservation carries the rows inserted through JDBC
+        entityManager.refresh(reservation);
 
-        return reservationRepository.save(reservation);
+        seatInventoryService.reserve(screeningId, seatIds);
+        reservationLeaseService.register(reservation.getId(), reservation.getCreatedAt());
+        return reservation;
     }
 
     public void cancelReservation(Long reservationId) {
@@ -83,6 +168,12 @@ public class ReservationService {
             throw new BusinessException("Cannot cancel a reservation for a screening that has already started");
         }
 
+        if (reservation.getStatus() != ReservationStatus.CANCELLED) {
+            seatInventoryService.release(reservation.getScreening().getId(),
+                    seatClaimService.releaseReservation(reservationId));
+            reservationLeaseService.release(reservationId);
+        }
+
         reservation.setStatus(ReservationStatus.CANCELLED);
 
         reservationRepository.save(reservation);
@@ -97,37 +188,80 @@ public class ReservationService {
             throw new BusinessException("Cannot modify a reservation for a screening that has already started");
         }
 
+        if (reservation.getStatus() == ReservationStatus.CANCELLED) {
+            throw new BusinessException("Cannot modify a cancelled reservation");
+        }
+
+        Long screeningId = reservation.getScreening().getId();
+
         if (dto.getSeatIdsToRemove() != null && !dto.getSeatIdsToRemove().isEmpty()) {
             List<SeatReservation> toRemove = reservation.getSeatReservations().stream()
                     .filter(sr -> dto.getSeatIdsToRemove().contains(sr.getSeat().getId()))
                     .collect(Collectors.toList());
 
+            List<Long> removedSeatIds = toRemove.stream()
+                    .map(sr -> sr.getSeat().getId())
+                    .collect(Collectors.toList());
+
             for (SeatReservation sr : toRemove) {
                 reservation.removeSeatReservation(sr);
             }
+
+            seatInventoryService.release(screeningId, seatClaimService.releaseSeats(reservationId, removedSeatIds));
         }
 
         if (dto.getSeatIdsToAdd() != null && !dto.getSeatIdsToAdd().isEmpty()) {
-            for (Long seatId : dto.getSeatIdsToAdd()) {
-                Seat seat = seatRepository.findById(seatId)
-                        .orElseThrow(() -> new EntityNotFoundException("Seat not found"));
-
-                if (isSeatAlreadyReserved(reservation.getScreening(), seat)) {
-                    throw new BusinessException(
-                            "The seat " + seat.getRowLabel() + seat.getColumnNumber() + " is already reserved");
-                }
-
+            List<Seat> seats = findSeatsOfRoom(dto.getSeatIdsToAdd(), reservation.getScreening().getRoom().getId());
+            for (Seat seat : seats) {
                 reservation.addSeatReservation(seat);
             }
+
+            claimSeats(screeningId, reservationId, seats);
+            seatInventoryService.reserve(screeningId, seats.stream().map(Seat::getId).collect(Collectors.toList()));
         }
 
         return reservationRepository.save(reservation);
     }
 
-    private boolean isSeatAlreadyReserved(Screening screening, Seat seat) {
-        return seatReservationRepository.findBySeat(seat).stream()
-                .anyMatch(sr -> sr.getReservation().getScreening().getId().equals(screening.getId()) &&
-                        !ReservationStatus.CANCELLED.equals(sr.getReservation().getStatus()));
+    /**
+     * Resolves all requested seats with one query and checks that they belong to the room.
+     */
+    private List<Seat> findSeatsOfRoom(List<Long> seatIds, Long roomId) {
+        Set<Long> requested = new LinkedHashSet<>(seatIds);
+        List<Seat> seats = seatRepository.findAllById(requested);
+
+        if (seats.size() != requested.size()) {
+            throw new EntityNotFoundException("Seat not found");
+        }
+
+        for (Seat seat : seats) {
+            if (!seat.getRoom().getId().equals(roomId)) {
+                throw new BusinessException(
+                        "The seat " + seat.getRowLabel() + seat.getColumnNumber() + " does not belong to the screening room");
+            }
+        }
+        return seats;
+    }
+
+    /**
+     * Claims the seats in the screening_seat_claim table. A conflict on any seat
+     * aborts the whole transaction and reports every seat that was taken.
+     */
+    private void claimSeats(Long screeningId, Long reservationId, List<Seat> seats) {
+        List<Long> conflicts = seatClaimService.claim(screeningId, reservationId,
+                seats.stream().map(Seat::getId).collect(Collectors.toList()));
+
+        if (!conflicts.isEmpty()) {
+            String labels = seats.stream()
+                    .filter(seat -> conflicts.contains(seat.getId()))
+                    .map(seat -> seat.getRowLabel() + seat.getColumnNumber())
+                    .distinct()
+                    .collect(Collectors.joining(", "));
+            throw new SeatNotAvailableException(
+                    (conflicts.size() == 1 ? "The seat " + labels + " is" : "The seats " + labels + " are")
+                            + " already reserved",
+                    conflicts);
+        }
     }
 
     public List<Reservation> getAllReservations() {
@@ -161,6 +295,25 @@ public class ReservationService {
         return reservationRepository.findByUserId(user.getId());
     }
 
+    /**
+     * Live and archived reservations of a user, newest first. Unlike
+     * getReservationsByUser this also reads the archive tables.
+     */
+    public List<ReservationHistory> getReservationHistoryByUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found with ID: " + userId);
+        }
+
+        return reservationHistoryRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    public List<ReservationHistory> getReservationHistoryByUsername(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with username: " + username));
+
+        return reservationHistoryRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+    }
+
     /**
      * Obtiene una reserva por el ID de sesión de Stripe
      *
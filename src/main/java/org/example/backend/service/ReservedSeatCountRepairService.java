@@ -0,0 +1,62 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recomputes screening.reserved_seat_count from the screening_seat_claim rows
+ * of screenings that have not finished yet. The write paths keep the counter
+ * exact; this job only corrects drift from manual edits or older data.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservedSeatCountRepairService {
+
+    private static final String FIND_DRIFTED_SQL =
+            "SELECT s.id FROM screening s " +
+            "LEFT JOIN (SELECT screening_id, count(*) AS seats FROM screening_seat_claim GROUP BY screening_id) c " +
+            "ON c.screening_id = s.id " +
+            "WHERE s.end_time > now() AND s.reserved_seat_count <> coalesce(c.seats, 0)";
+
+    private static final String LOCK_SQL = "SELECT id FROM screening WHERE id = ? FOR UPDATE";
+
+    private static final String REPAIR_SQL =
+            "UPDATE screening SET reserved_seat_count = " +
+            "(SELECT count(*) FROM screening_seat_claim WHERE screening_id = ?) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void repairOnStartup() {
+        repairReservedSeatCounts();
+    }
+
+    @Scheduled(cron = "0 30 * * * *")
+    public void repairReservedSeatCounts() {
+        List<Long> drifted = jdbcTemplate.queryForList(FIND_DRIFTED_SQL, Long.class);
+        for (Long screeningId : drifted) {
+            // Lock the row first so the count below sees every claim committed before
+            // it; concurrent claims wait and then apply their delta on top
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.queryForList(LOCK_SQL, Long.class, screeningId);
+                jdbcTemplate.update(REPAIR_SQL, screeningId, screeningId);
+            });
+        }
+        if (!drifted.isEmpty()) {
+            log.info("Repaired reserved seat count of {} screenings", drifted.size());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.event.CatalogChangedEvent;
+import org.example.backend.event.HomePageRebuiltEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized responses of the public catalog GETs, stored as the JSON bytes
+ * plus a gzip variant so hits skip both Jackson and compression. Entries are
+ * grouped by region and a region is dropped as a whole when the data behind
+ * it changes. Entries also expire after a short TTL, because some responses
+ * (the home page) filter by the current time. A full region first drops its
+ * expired entries and then its oldest one to make room.
+ */
+@Service
+@Slf4j
+public class ResponseCacheService {
+
+    public enum Region {
+        HOME,
+        MOVIES,
+        ROOMS
+    }
+
+    public record CachedResponse(String contentType, byte[] body, byte[] gzipBody, long expiresAtNanos) {
+    }
+
+    @Value("${response-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${response-cache.max-entries-per-region:1000}")
+    private int maxEntriesPerRegion;
+
+    private final Map<Region, RegionEntries> regions = new EnumMap<>(Region.class);
+
+    public ResponseCacheService() {
+        for (Region region : Region.values()) {
+            regions.put(region, new RegionEntries());
+        }
+    }
+
+    public CachedResponse find(Region region, String key) {
+        RegionEntries entries = regions.get(region);
+        CachedResponse cached = entries.responses.get(key);
+        if (cached != null && cached.expiresAtNanos() - System.nanoTime() < 0) {
+            entries.responses.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Read before producing a response and passed back to {@link #store}, so a
+     * response computed from data that changed meanwhile is not cached.
+     */
+    public long generation(Region region) {
+        return regions.get(region).generation;
+    }
+
+    /**
+     * @return the stored entry, or null if the region was invalidated since
+     *         {@code generation} was read
+     */
+    public CachedResponse store(Region region, String key, long generation, String contentType, byte[] body) {
+        byte[] gzipBody = gzip(body);
+        CachedResponse cached = new CachedResponse(contentType, body,
+                gzipBody.length < body.length ? gzipBody : null,
+                System.nanoTime() + ttlSeconds * 1_000_000_000L);
+
+        RegionEntries entries = regions.get(region);
+        synchronized (entries) {
+            if (entries.generation != generation) {
+                return null;
+            }
+            if (!entries.responses.containsKey(key) && entries.responses.size() >= maxEntriesPerRegion) {
+                makeRoom(entries);
+            }
+            entries.responses.put(key, cached);
+        }
+        return cached;
+    }
+
+    public void invalidate(Region region) {
+        RegionEntries entries = regions.get(region);
+        synchronized (entries) {
+            entries.generation++;
+            entries.responses.clear();
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.getKind()) {
+            case MOVIES -> invalidate(Region.MOVIES);
+            case ROOMS -> invalidate(Region.ROOMS);
+            // Screenings and seat counts reach the home page through its snapshot
+            default -> {
+            }
+        }
+    }
+
+    @EventListener
+    public void onHomePageRebuilt(HomePageRebuiltEvent event) {
+        invalidate(Region.HOME);
+    }
+
+    /**
+     * Removes the expired entries of a full region, or its oldest entry if none
+     * has expired. Every entry gets the same TTL, so the oldest expires first.
+     */
+    private static void makeRoom(RegionEntries entries) {
+        long now = System.nanoTime();
+        Map.Entry<String, CachedResponse> oldest = null;
+        boolean removed = false;
+        for (Map.Entry<String, CachedResponse> entry : entries.responses.entrySet()) {
+            if (entry.getValue().expiresAtNanos() - now < 0) {
+                removed |= entries.responses.remove(entry.getKey(), entry.getValue());
+            } else if (oldest == null || entry.getValue().expiresAtNanos() - oldest.getValue().expiresAtNanos() < 0) {
+                oldest = entry;
+            }
+        }
+        if (!removed && oldest != null) {
+            entries.responses.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class RegionEntries {
+        private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+        // Written under the lock of this object, read without it
+        private volatile long generation;
+    }
+}
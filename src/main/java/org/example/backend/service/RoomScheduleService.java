@@ -0,0 +1,115 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.exception.RoomNotAvailableException;
+import org.example.backend.model.Screening;
+import org.example.backend.repository.ScreeningRepository;
+import org.example.backend.service.schedule.RoomSchedule;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.example.backend.service.TransactionCallbacks.afterCommit;
+import static org.example.backend.service.TransactionCallbacks.afterRollback;
+
+/**
+ * Keeps the upcoming screenings of each room in memory so new and moved
+ * screenings can be checked for conflicts without querying the database. A
+ * room is loaded on first use and then kept in sync by the screening writes of
+ * this node.
+ * <p>
+ * The schedule is only a fast pre-check. The screening_room_slot_excl
+ * constraint is what guarantees no overlaps, also across nodes. When the
+ * schedule reports a conflict, the room is reloaded once before the conflict is
+ * believed, so changes made by other nodes do not block a free slot.
+ */
+@Service
+@RequiredArgsConstructor
+public class RoomScheduleService {
+
+    // Time the room needs after a screening ends before the next one can start
+    public static final Duration CLEANUP_BUFFER = Duration.ofMinutes(15);
+
+    private final ScreeningRepository screeningRepository;
+
+    private final Map<Long, RoomSchedule> schedules = new ConcurrentHashMap<>();
+
+    public static RoomSchedule.Slot slotOf(Long screeningId, LocalDateTime start, LocalDateTime end) {
+        return new RoomSchedule.Slot(screeningId, start, end, end.plus(CLEANUP_BUFFER));
+    }
+
+    /**
+     * Returns the slot of another screening the given one would clash with, or null.
+     */
+    public RoomSchedule.Slot findConflict(Long roomId, RoomSchedule.Slot slot) {
+        RoomSchedule.Slot conflict = getSchedule(roomId)
+                .findConflict(slot.start(), slot.blockedUntil(), slot.screeningId());
+        if (conflict == null) {
+            return null;
+        }
+        RoomSchedule reloaded = load(roomId);
+        schedules.put(roomId, reloaded);
+        return reloaded.findConflict(slot.start(), slot.blockedUntil(), slot.screeningId());
+    }
+
+    /**
+     * Records a screening the database has accepted in the schedule of its room.
+     * Undone if the surrounding transaction rolls back. When the screening moves
+     * from another room, that room keeps its old slot until commit.
+     */
+    public void record(Screening screening, Long previousRoomId) {
+        Long screeningId = screening.getId();
+        Long roomId = screening.getRoom().getId();
+        RoomSchedule schedule = getSchedule(roomId);
+        schedule.pruneBefore(LocalDateTime.now());
+
+        RoomSchedule.Slot previous = schedule.get(screeningId);
+        schedule.put(slotOf(screeningId, screening.getStartTime(), screening.getEndTime()));
+        afterRollback(() -> {
+            if (previous != null) {
+                schedule.put(previous);
+            } else {
+                schedule.remove(screeningId);
+            }
+        });
+
+        if (previousRoomId != null && !previousRoomId.equals(roomId)) {
+            release(previousRoomId, screeningId);
+        }
+    }
+
+    /**
+     * Frees the slot of a screening once the surrounding transaction commits.
+     */
+    public void release(Long roomId, Long screeningId) {
+        afterCommit(() -> {
+            RoomSchedule schedule = schedules.get(roomId);
+            if (schedule != null) {
+                schedule.remove(screeningId);
+            }
+        });
+    }
+
+    public static RoomNotAvailableException conflictException(RoomSchedule.Slot slot, RoomSchedule.Slot conflict) {
+        boolean overlaps = conflict.start().isBefore(slot.end()) && conflict.end().isAfter(slot.start());
+        return new RoomNotAvailableException(overlaps
+                ? "The room is not available at the specified time"
+                : "There is not enough time to prepare the room between screenings");
+    }
+
+    private RoomSchedule getSchedule(Long roomId) {
+        return schedules.computeIfAbsent(roomId, this::load);
+    }
+
+    private RoomSchedule load(Long roomId) {
+        RoomSchedule schedule = new RoomSchedule();
+        LocalDateTime since = LocalDateTime.now().minus(CLEANUP_BUFFER);
+        for (ScreeningRepository.ScheduleView view : screeningRepository.findScheduleByRoomId(roomId, since)) {
+            schedule.put(slotOf(view.getId(), view.getStartTime(), view.getEndTime()));
+        }
+        return schedule;
+    }
+}
@@ -4,8 +4,10 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.example.backend.dto.RoomBasicDTO;
 import org.example.backend.dto.RoomCreationDTO;
+import org.example.backend.event.CatalogChangedEvent;
 import org.example.backend.model.Room;
 import org.example.backend.repository.RoomRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,12 +15,16 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static org.example.backend.service.TransactionCallbacks.afterCommit;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class RoomService {
 
     private final RoomRepository roomRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Room save(Room room) {
         if (room.getNumber() == null) {
@@ -29,7 +35,9 @@ public class RoomService {
             room.generateSeats();
         }
 
-        return roomRepository.save(room);
+        Room savedRoom = roomRepository.save(room);
+        catalogChanged();
+        return savedRoom;
     }
 
     private Integer generateNextRoomNumber() {
@@ -75,9 +83,17 @@ public class RoomService {
         Room room = roomRepository.findRoomWithHighestNumber()
                 .orElseThrow(() -> new NoSuchElementException("No rooms found"));
         roomRepository.delete(room);
+        seatInventoryService.evictRoom(room.getId());
+        catalogChanged();
     }
 
     public void delete(Long id) {
         roomRepository.deleteById(id);
+        seatInventoryService.evictRoom(id);
+        catalogChanged();
+    }
+
+    private void catalogChanged() {
+        afterCommit(() -> eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.ROOMS)));
     }
 }
\ No newline at end of file
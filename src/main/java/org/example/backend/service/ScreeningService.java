@@ -2,37 +2,62 @@ package org.example.backend.service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.BulkScreeningCreationDTO;
+import org.example.backend.dto.CursorPage;
 import org.example.backend.dto.ScreeningCreationDTO;
 import org.example.backend.dto.ScreeningBasicDTO;
+import org.example.backend.dto.ScreeningCursor;
 import org.example.backend.dto.ScreeningDateDTO;
 import org.example.backend.dto.ScreeningTimeDTO;
+import org.example.backend.event.CatalogChangedEvent;
 import org.example.backend.exception.ResourceNotFoundException;
 import org.example.backend.exception.RoomNotAvailableException;
 import org.example.backend.model.Movie;
 import org.example.backend.model.Room;
 import org.example.backend.model.Screening;
+import org.example.backend.model.ShowtimeSlot;
 import org.example.backend.repository.MovieRepository;
 import org.example.backend.repository.RoomRepository;
+import org.example.backend.repository.ScreeningFilter;
 import org.example.backend.repository.ScreeningRepository;
+import org.example.backend.repository.ShowtimeSlotRepository;
+import org.example.backend.service.schedule.RoomSchedule;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.Comparator;
-import java.util.Set;
+
+import static org.example.backend.service.TransactionCallbacks.afterCommit;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ScreeningService {
 
+    // SQLSTATE raised by PostgreSQL when an exclusion constraint is violated
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final ScreeningRepository screeningRepository;
     private final MovieRepository movieRepository;
     private final RoomRepository roomRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatClaimService seatClaimService;
+    private final RoomScheduleService roomScheduleService;
+    private final ShowtimeSlotRepository showtimeSlotRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Screening createScreening(ScreeningCreationDTO dto) {
         Movie movie = movieRepository.findById(dto.getMovieId())
@@ -42,58 +67,134 @@ public class ScreeningService {
                 .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + dto.getRoomId()));
 
         LocalDateTime endTime = calculateEndTime(dto.getStartTime(), movie.getDurationMinutes());
+        checkRoomAvailability(room, null, dto.getStartTime(), endTime);
 
-        boolean isRoomAvailable = checkRoomAvailability(room, dto.getStartTime(), endTime);
-        if (!isRoomAvailable) {
-            throw new RoomNotAvailableException("The room is not available at the specified time");
+        Screening screening = new Screening();
+        applyDetails(screening, movie, room, dto, endTime);
+        try {
+            screening = screeningRepository.save(screening);
+        } catch (DataIntegrityViolationException e) {
+            throw translateSlotConflict(e);
         }
 
-        LocalDateTime cleanupEndTime = endTime.plusMinutes(15);
+        roomScheduleService.record(screening, null);
+        catalogChanged();
+        return screening;
+    }
 
-        if (!checkCleanupTime(room, endTime, cleanupEndTime)) {
-            throw new RoomNotAvailableException(
-                    "There is not enough time to prepare the room before the next screening");
+    /**
+     * Creates a batch of screenings, typically a week of showtimes. Every
+     * screening is checked against the existing schedule and against the rest
+     * of the batch before anything is written, and all conflicts are reported
+     * together. The screenings are then inserted as one JDBC batch.
+     */
+    public List<ScreeningBasicDTO> createScreenings(BulkScreeningCreationDTO dto) {
+        List<ScreeningCreationDTO> requested = dto.getScreenings();
+        Map<Long, Movie> movies = movieRepository.findAllById(
+                        requested.stream().map(ScreeningCreationDTO::getMovieId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Movie::getId, Function.identity()));
+        Map<Long, Room> rooms = roomRepository.findAllById(
+                        requested.stream().map(ScreeningCreationDTO::getRoomId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+
+        List<Screening> screenings = new ArrayList<>(requested.size());
+        Map<Long, RoomSchedule> batchSchedules = new HashMap<>();
+        List<String> conflicts = new ArrayList<>();
+        for (int i = 0; i < requested.size(); i++) {
+            ScreeningCreationDTO item = requested.get(i);
+            Movie movie = movies.get(item.getMovieId());
+            if (movie == null) {
+                throw new ResourceNotFoundException("Movie not found with ID: " + item.getMovieId());
+            }
+            Room room = rooms.get(item.getRoomId());
+            if (room == null) {
+                throw new ResourceNotFoundException("Room not found with ID: " + item.getRoomId());
+            }
+
+            LocalDateTime endTime = calculateEndTime(item.getStartTime(), movie.getDurationMinutes());
+            Screening screening = new Screening();
+            applyDetails(screening, movie, room, item, endTime);
+            screenings.add(screening);
+
+            // Screenings of the batch get negative placeholder ids until they are inserted
+            RoomSchedule.Slot slot = RoomScheduleService.slotOf(-(i + 1L), item.getStartTime(), endTime);
+            RoomSchedule.Slot conflict = roomScheduleService.findConflict(room.getId(), slot);
+            String conflictsWith = "an existing screening";
+            if (conflict == null) {
+                conflict = batchSchedules.computeIfAbsent(room.getId(), id -> new RoomSchedule()).tryPut(slot);
+                conflictsWith = conflict != null ? "screening " + -conflict.screeningId() + " of the request" : null;
+            }
+            if (conflict != null) {
+                conflicts.add("Screening " + (i + 1) + " (room " + room.getNumber() + ", " + item.getStartTime()
+                        + ") clashes with " + conflictsWith + ": "
+                        + RoomScheduleService.conflictException(slot, conflict).getMessage());
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            throw new RoomNotAvailableException(String.join("; ", conflicts));
         }
 
-        Screening screening = new Screening();
-        screening.setMovie(movie);
-        screening.setRoom(room);
-        screening.setStartTime(dto.getStartTime());
-        screening.setEndTime(endTime);
-
-        screening.setIs3D(dto.getIs3D());
-        screening.setHasSubtitles(dto.getHasSubtitles());
-        screening.setLanguage(dto.getLanguage());
-        screening.setFormat(dto.getFormat());
-
-        return screeningRepository.save(screening);
+        try {
+            screeningRepository.batchInsert(screenings);
+        } catch (DataIntegrityViolationException e) {
+            throw translateSlotConflict(e);
+        }
+        for (Screening screening : screenings) {
+            roomScheduleService.record(screening, null);
+        }
+        catalogChanged();
+        return screenings.stream()
+                .map(ScreeningBasicDTO::fromScreening)
+                .collect(Collectors.toList());
     }
 
     private LocalDateTime calculateEndTime(LocalDateTime startTime, Integer durationMinutes) {
         return startTime.plusMinutes(durationMinutes + 15);
     }
 
-    private boolean checkRoomAvailability(Room room, LocalDateTime startTime, LocalDateTime endTime) {
-        List<Screening> overlappingScreenings = screeningRepository.findOverlappingScreenings(
-                room.getId(), startTime, endTime);
-
-        return overlappingScreenings.isEmpty();
+    private void checkRoomAvailability(Room room, Long screeningId, LocalDateTime startTime, LocalDateTime endTime) {
+        RoomSchedule.Slot slot = RoomScheduleService.slotOf(screeningId, startTime, endTime);
+        RoomSchedule.Slot conflict = roomScheduleService.findConflict(room.getId(), slot);
+        if (conflict != null) {
+            throw RoomScheduleService.conflictException(slot, conflict);
+        }
     }
 
-    private boolean checkCleanupTime(Room room, LocalDateTime currentEndTime, LocalDateTime cleanupEndTime) {
-        List<Screening> nextScreenings = screeningRepository.findNextScreeningsAfter(
-                room.getId(), currentEndTime);
+    private void catalogChanged() {
+        afterCommit(() -> eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.SCREENINGS)));
+    }
 
-        if (nextScreenings.isEmpty()) {
-            return true;
+    /**
+     * Screenings that slip past the in-memory check, such as ones created on
+     * another node at the same time, are rejected by the exclusion constraint
+     * on screening slots.
+     */
+    private static RuntimeException translateSlotConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return new RoomNotAvailableException("The room is not available at the specified time");
+            }
         }
+        return e;
+    }
 
-        Screening nextScreening = nextScreenings.get(0);
-        return nextScreening.getStartTime().isAfter(cleanupEndTime);
+    private void applyDetails(Screening screening, Movie movie, Room room, ScreeningCreationDTO dto,
+            LocalDateTime endTime) {
+        screening.setMovie(movie);
+        screening.setRoom(room);
+        screening.setStartTime(dto.getStartTime());
+        screening.setEndTime(endTime);
+        screening.setIs3D(dto.getIs3D());
+        screening.setHasSubtitles(dto.getHasSubtitles());
+        screening.setLanguage(dto.getLanguage());
+        screening.setFormat(dto.getFormat());
     }
 
-    public List<Screening> getAllScreenings() {
-        return screeningRepository.findAll();
+    public CursorPage<Screening> getAllScreenings(String after, int limit) {
+        return findPage(ScreeningFilter.ALL, after, limit);
     }
 
     public Screening getScreeningById(Long id) {
@@ -113,105 +214,58 @@ public class ScreeningService {
         LocalDateTime endTime = calculateEndTime(dto.getStartTime(), movie.getDurationMinutes());
 
         // Check if the room is available for the new time, excluding this screening
-        boolean isRoomAvailable = checkRoomAvailabilityForUpdate(room, dto.getStartTime(), endTime, id);
-        if (!isRoomAvailable) {
-            throw new RoomNotAvailableException("The room is not available at the specified time");
-        }
-
-        LocalDateTime cleanupEndTime = endTime.plusMinutes(15);
-
-        if (!checkCleanupTimeForUpdate(room, endTime, cleanupEndTime, id)) {
-            throw new RoomNotAvailableException(
-                    "There is not enough time to prepare the room before the next screening");
+        checkRoomAvailability(room, id, dto.getStartTime(), endTime);
+
+        Long previousRoomId = screening.getRoom().getId();
+        applyDetails(screening, movie, room, dto, endTime);
+        try {
+            // Flushed here so a clash surfaces as RoomNotAvailableException rather than at commit
+            screening = screeningRepository.saveAndFlush(screening);
+        } catch (DataIntegrityViolationException e) {
+            throw translateSlotConflict(e);
         }
 
-        screening.setMovie(movie);
-        screening.setRoom(room);
-        screening.setStartTime(dto.getStartTime());
-        screening.setEndTime(endTime);
-        screening.setIs3D(dto.getIs3D());
-        screening.setHasSubtitles(dto.getHasSubtitles());
-        screening.setLanguage(dto.getLanguage());
-        screening.setFormat(dto.getFormat());
-
-        return screeningRepository.save(screening);
+        roomScheduleService.record(screening, previousRoomId);
+        catalogChanged();
+        return screening;
     }
 
     public void deleteScreening(Long id) {
-        if (!screeningRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Screening not found with ID: " + id);
-        }
+        Screening screening = getScreeningById(id);
+        Long roomId = screening.getRoom().getId();
         screeningRepository.deleteById(id);
+        seatClaimService.releaseScreening(id);
+        seatInventoryService.evictScreening(id);
+        roomScheduleService.release(roomId, id);
+        catalogChanged();
     }
 
-    public List<Screening> getScreeningsByMovie(Long movieId) {
+    public CursorPage<Screening> getScreeningsByMovie(Long movieId, String after, int limit) {
         if (!movieRepository.existsById(movieId)) {
             throw new ResourceNotFoundException("Movie not found with ID: " + movieId);
         }
-        return screeningRepository.findByMovieIdAndDateRange(
+        return findPage(ScreeningFilter.movieBetween(
                 movieId,
                 LocalDateTime.now(),
-                LocalDateTime.now().plusMonths(3));
+                LocalDateTime.now().plusMonths(3)), after, limit);
     }
 
-    public List<Screening> getScreeningsByRoom(Long roomId) {
+    public CursorPage<Screening> getScreeningsByRoom(Long roomId, String after, int limit) {
         if (!roomRepository.existsById(roomId)) {
             throw new ResourceNotFoundException("Room not found with ID: " + roomId);
         }
-
-        // Custom query to find screenings by room ID
-        return screeningRepository.findAll().stream()
-                .filter(screening -> screening.getRoom().getId().equals(roomId))
-                .toList();
+        return findPage(ScreeningFilter.room(roomId), after, limit);
     }
 
-    public List<Screening> getScreeningsByDate(LocalDate date) {
+    public CursorPage<Screening> getScreeningsByDate(LocalDate date, String after, int limit) {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
 
-        // Custom query to find screenings by date
-        return screeningRepository.findAll().stream()
-                .filter(screening -> screening.getStartTime().isAfter(startOfDay) &&
-                        screening.getStartTime().isBefore(endOfDay))
-                .toList();
+        return findPage(ScreeningFilter.between(startOfDay, endOfDay), after, limit);
     }
 
-    private boolean checkRoomAvailabilityForUpdate(Room room, LocalDateTime startTime, LocalDateTime endTime,
-            Long screeningId) {
-        List<Screening> overlappingScreenings = screeningRepository.findOverlappingScreenings(
-                room.getId(), startTime, endTime);
-
-        // Filter out the current screening
-        return overlappingScreenings.stream()
-                .noneMatch(screening -> !screening.getId().equals(screeningId));
-    }
-
-    private boolean checkCleanupTimeForUpdate(Room room, LocalDateTime currentEndTime, LocalDateTime cleanupEndTime,
-            Long screeningId) {
-        List<Screening> nextScreenings = screeningRepository.findNextScreeningsAfter(
-                room.getId(), currentEndTime);
-
-        if (nextScreenings.isEmpty()) {
-            return true;
-        }
-
-        // Filter out the current screening
-        nextScreenings = nextScreenings.stream()
-                .filter(screening -> !screening.getId().equals(screeningId))
-                .toList();
-
-        if (nextScreenings.isEmpty()) {
-            return true;
-        }
-
-        Screening nextScreening = nextScreenings.get(0);
-        return nextScreening.getStartTime().isAfter(cleanupEndTime);
-    }
-
-    public List<ScreeningBasicDTO> getAllScreeningsBasic() {
-        return screeningRepository.findAll().stream()
-                .map(ScreeningBasicDTO::fromScreening)
-                .collect(Collectors.toList());
+    public CursorPage<ScreeningBasicDTO> getAllScreeningsBasic(String after, int limit) {
+        return getAllScreenings(after, limit).map(ScreeningBasicDTO::fromScreening);
     }
 
     public ScreeningBasicDTO getScreeningBasicById(Long id) {
@@ -220,148 +274,101 @@ public class ScreeningService {
         return ScreeningBasicDTO.fromScreening(screening);
     }
 
-    public List<ScreeningBasicDTO> getScreeningsByMovieBasic(Long movieId) {
-        if (!movieRepository.existsById(movieId)) {
-            throw new ResourceNotFoundException("Movie not found with ID: " + movieId);
-        }
-        return screeningRepository.findByMovieIdAndDateRange(
-                movieId,
-                LocalDateTime.now(),
-                LocalDateTime.now().plusMonths(3))
-                .stream()
-                .map(ScreeningBasicDTO::fromScreening)
-                .collect(Collectors.toList());
+    public CursorPage<ScreeningBasicDTO> getScreeningsByMovieBasic(Long movieId, String after, int limit) {
+        return getScreeningsByMovie(movieId, after, limit).map(ScreeningBasicDTO::fromScreening);
     }
 
-    public List<ScreeningBasicDTO> getScreeningsByRoomBasic(Long roomId) {
-        if (!roomRepository.existsById(roomId)) {
-            throw new ResourceNotFoundException("Room not found with ID: " + roomId);
-        }
-
-        return screeningRepository.findAll().stream()
-                .filter(screening -> screening.getRoom().getId().equals(roomId))
-                .map(ScreeningBasicDTO::fromScreening)
-                .collect(Collectors.toList());
+    public CursorPage<ScreeningBasicDTO> getScreeningsByRoomBasic(Long roomId, String after, int limit) {
+        return getScreeningsByRoom(roomId, after, limit).map(ScreeningBasicDTO::fromScreening);
     }
 
-    public List<ScreeningBasicDTO> getScreeningsByDateBasic(LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-
-        return screeningRepository.findAll().stream()
-                .filter(screening -> screening.getStartTime().isAfter(startOfDay) &&
-                        screening.getStartTime().isBefore(endOfDay))
-                .map(ScreeningBasicDTO::fromScreening)
-                .collect(Collectors.toList());
+    public CursorPage<ScreeningBasicDTO> getScreeningsByDateBasic(LocalDate date, String after, int limit) {
+        return getScreeningsByDate(date, after, limit).map(ScreeningBasicDTO::fromScreening);
     }
 
+    /**
+     * The three showtime queries of the movie page read the showtime_slot read
+     * model: one index range scan each, with the movie title and seat counts
+     * already in the rows. The movie is only looked up when no showtime matches.
+     */
     public ScreeningDateDTO getAvailableDatesForMovie(Long movieId) {
-        if (!movieRepository.existsById(movieId)) {
-            throw new ResourceNotFoundException("Movie not found with ID: " + movieId);
-        }
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusMonths(3);
+        List<ShowtimeSlotRepository.ShowDateView> showDates = showtimeSlotRepository.findShowDates(
+                movieId, from.toLocalDate(), to.toLocalDate(), from, to);
 
-        Set<LocalDate> dates = screeningRepository.findByMovieIdAndDateRange(
-                movieId,
-                LocalDateTime.now(),
-                LocalDateTime.now().plusMonths(3))
-                .stream()
-                .map(screening -> screening.getStartTime().toLocalDate())
-                .collect(Collectors.toSet());
-
-        Movie movie = movieRepository.findById(movieId).orElseThrow();
         ScreeningDateDTO dateDTO = new ScreeningDateDTO();
         dateDTO.setMovieId(movieId);
-        dateDTO.setMovieTitle(movie.getTitle());
-        dateDTO.setAvailableDates(dates);
+        dateDTO.setMovieTitle(showDates.isEmpty() ? getMovieTitle(movieId) : showDates.get(0).getMovieTitle());
+        dateDTO.setAvailableDates(showDates.stream()
+                .map(ShowtimeSlotRepository.ShowDateView::getShowDate)
+                .collect(Collectors.toSet()));
         return dateDTO;
     }
 
     public ScreeningTimeDTO getScreeningsByMovieAndDate(Long movieId, LocalDate date) {
-        if (!movieRepository.existsById(movieId)) {
-            throw new ResourceNotFoundException("Movie not found with ID: " + movieId);
-        }
-
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-
-        List<Screening> screeningsForDate = screeningRepository.findByMovieIdAndDateRange(
-                movieId, startOfDay, endOfDay);
-
-        Movie movie = movieRepository.findById(movieId).orElseThrow();
-        List<ScreeningTimeDTO.ScreeningTimeSlot> timeSlots = screeningsForDate.stream()
-                .map(screening -> {
-                    ScreeningTimeDTO.ScreeningTimeSlot slot = new ScreeningTimeDTO.ScreeningTimeSlot();
-                    slot.setScreeningId(screening.getId());
-                    slot.setStartTime(screening.getStartTime().toLocalTime());
-                    slot.setFormat(screening.getFormat());
-                    slot.setIs3D(screening.getIs3D());
-                    slot.setLanguage(screening.getLanguage());
-                    slot.setHasSubtitles(screening.getHasSubtitles());
-                    slot.setRoomNumber(screening.getRoom().getNumber());
-                    slot.setAvailableSeats(screening.getAvailableSeats());
-                    return slot;
-                })
-                .collect(Collectors.toList());
-
-        ScreeningTimeDTO timeDTO = new ScreeningTimeDTO();
-        timeDTO.setMovieId(movieId);
-        timeDTO.setMovieTitle(movie.getTitle());
-        timeDTO.setDate(date);
-        timeDTO.setTimeSlots(timeSlots);
-        return timeDTO;
+        List<ShowtimeSlot> slots = showtimeSlotRepository.findByMovieIdAndShowDateOrderByStartTime(movieId, date);
+        return toTimeDTO(movieId, slots.isEmpty() ? getMovieTitle(movieId) : slots.get(0).getMovieTitle(),
+                date, slots);
     }
 
     public List<ScreeningTimeDTO> getScreeningsByMovieForDateRange(Long movieId, LocalDate startDate,
             LocalDate endDate) {
-        if (!movieRepository.existsById(movieId)) {
-            throw new ResourceNotFoundException("Movie not found with ID: " + movieId);
+        List<ShowtimeSlot> slots = showtimeSlotRepository
+                .findByMovieIdAndShowDateBetweenOrderByShowDateAscStartTimeAsc(movieId, startDate, endDate);
+        if (slots.isEmpty()) {
+            getMovieTitle(movieId);
+            return List.of();
         }
 
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
-
-        List<Screening> screeningsInRange = screeningRepository.findByMovieIdAndDateRange(
-                movieId, startDateTime, endDateTime);
-
-        Movie movie = movieRepository.findById(movieId).orElseThrow();
-
-        // Group screenings by date
-        Map<LocalDate, List<Screening>> screeningsByDate = screeningsInRange.stream()
-                .collect(Collectors.groupingBy(s -> s.getStartTime().toLocalDate()));
-
-        return screeningsByDate.entrySet().stream()
-                .map(entry -> {
-                    List<ScreeningTimeDTO.ScreeningTimeSlot> timeSlots = entry.getValue().stream()
-                            .map(screening -> {
-                                ScreeningTimeDTO.ScreeningTimeSlot slot = new ScreeningTimeDTO.ScreeningTimeSlot();
-                                slot.setScreeningId(screening.getId());
-                                slot.setStartTime(screening.getStartTime().toLocalTime());
-                                slot.setFormat(screening.getFormat());
-                                slot.setIs3D(screening.getIs3D());
-                                slot.setLanguage(screening.getLanguage());
-                                slot.setHasSubtitles(screening.getHasSubtitles());
-                                slot.setRoomNumber(screening.getRoom().getNumber());
-                                slot.setAvailableSeats(screening.getAvailableSeats());
-                                return slot;
-                            })
-                            .collect(Collectors.toList());
-
-                    ScreeningTimeDTO dto = new ScreeningTimeDTO();
-                    dto.setMovieId(movieId);
-                    dto.setMovieTitle(movie.getTitle());
-                    dto.setDate(entry.getKey());
-                    dto.setTimeSlots(timeSlots);
-                    return dto;
-                })
-                .sorted(Comparator.comparing(ScreeningTimeDTO::getDate))
+        // Rows come sorted by date and time, so grouping keeps both orders
+        Map<LocalDate, List<ShowtimeSlot>> slotsByDate = slots.stream()
+                .collect(Collectors.groupingBy(ShowtimeSlot::getShowDate, LinkedHashMap::new, Collectors.toList()));
+        String movieTitle = slots.get(0).getMovieTitle();
+        return slotsByDate.entrySet().stream()
+                .map(entry -> toTimeDTO(movieId, movieTitle, entry.getKey(), entry.getValue()))
                 .collect(Collectors.toList());
     }
 
-    public List<Screening> getScreeningsByTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
-        return screeningRepository.findAll().stream()
-                .filter(screening -> (screening.getStartTime().isAfter(startTime)
-                        || screening.getStartTime().isEqual(startTime)) &&
-                        (screening.getStartTime().isBefore(endTime) || screening.getStartTime().isEqual(endTime)))
+    private String getMovieTitle(Long movieId) {
+        return movieRepository.findTitleById(movieId)
+                .orElseThrow(() -> new ResourceNotFoundException("Movie not found with ID: " + movieId));
+    }
+
+    private static ScreeningTimeDTO toTimeDTO(Long movieId, String movieTitle, LocalDate date,
+            List<ShowtimeSlot> slots) {
+        List<ScreeningTimeDTO.ScreeningTimeSlot> timeSlots = slots.stream()
+                .map(showtime -> new ScreeningTimeDTO.ScreeningTimeSlot(
+                        showtime.getScreeningId(),
+                        showtime.getStartTime(),
+                        showtime.getFormat(),
+                        showtime.getIs3D(),
+                        showtime.getLanguage(),
+                        showtime.getHasSubtitles(),
+                        showtime.getRoomNumber(),
+                        showtime.getAvailableSeats()))
                 .collect(Collectors.toList());
+        return new ScreeningTimeDTO(movieId, movieTitle, date, timeSlots);
+    }
+
+    public CursorPage<Screening> getScreeningsByTimeRange(LocalDateTime startTime, LocalDateTime endTime,
+            String after, int limit) {
+        return findPage(ScreeningFilter.between(startTime, endTime), after, limit);
+    }
+
+    /**
+     * Keyset pagination over (start time, id): each page continues after the
+     * last screening of the previous one, so deep pages cost the same as the
+     * first and rows inserted meanwhile are neither skipped nor repeated.
+     */
+    private CursorPage<Screening> findPage(ScreeningFilter filter, String after, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        // One extra row tells whether there is a next page
+        List<Screening> screenings = screeningRepository.findPage(filter, ScreeningCursor.parse(after), pageSize + 1);
+        if (screenings.size() <= pageSize) {
+            return new CursorPage<>(screenings, null);
+        }
+        List<Screening> page = screenings.subList(0, pageSize);
+        return new CursorPage<>(page, ScreeningCursor.of(page.get(pageSize - 1)).toString());
     }
 }
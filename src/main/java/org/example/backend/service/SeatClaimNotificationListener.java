@@ -0,0 +1,114 @@
+package org.example.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Listens on the seat_claims channel, notified by the screening_seat_claim
+ * triggers with the id of every screening whose claims changed, and resyncs
+ * the in-memory seat maps of this node. This is what keeps seat maps, SSE
+ * deltas and auto-pick candidates current when reservations are made on other
+ * nodes.
+ * <p>
+ * Holds one pooled connection for as long as it listens. After the connection
+ * is lost, notifications sent meanwhile are gone, so every loaded seat map is
+ * resynced once listening resumes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatClaimNotificationListener {
+
+    static final String CHANNEL = "seat_claims";
+
+    private final DataSource dataSource;
+    private final SeatInventoryService seatInventoryService;
+
+    @Value("${seat-inventory.listen.poll-millis:1000}")
+    private int pollMillis;
+
+    @Value("${seat-inventory.listen.retry-millis:5000}")
+    private long retryMillis;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "seat-claim-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    seatInventoryService.resyncAll();
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null && notifications.length > 0) {
+                        resync(notifications);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Lost the {} listener connection, retrying in {} ms", CHANNEL, retryMillis, e);
+                reconnecting = true;
+                try {
+                    Thread.sleep(retryMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void resync(PGNotification[] notifications) {
+        Set<Long> screeningIds = new LinkedHashSet<>();
+        for (PGNotification notification : notifications) {
+            try {
+                screeningIds.add(Long.valueOf(notification.getParameter()));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring {} notification with payload '{}'", CHANNEL, notification.getParameter());
+            }
+        }
+        for (Long screeningId : screeningIds) {
+            seatInventoryService.resync(screeningId);
+        }
+    }
+}
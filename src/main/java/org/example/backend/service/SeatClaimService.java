@@ -0,0 +1,187 @@
+package org.example.backend.service;
+
+import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.repository.ScreeningSeatClaimRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes and releases rows of the screening_seat_claim table. Claims are
+ * inserted in the caller's transaction, so they commit or roll back together
+ * with the SeatReservation rows they guard. The same statement adjusts
+ * screening.reserved_seat_count, so the counter always matches the claims.
+ * <p>
+ * Keeping the counter exact means every claim and release updates the
+ * screening row, so changes to the claims of one screening are serialized on
+ * that row until their transaction ends, on every node. The row is locked
+ * before any claim is written or deleted: a claim waiting on a seat that a
+ * release has just deleted would otherwise hold the row the release needs.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class SeatClaimService {
+
+    private static final String CLAIM_SQL =
+            "WITH claimed AS (" +
+            "INSERT INTO screening_seat_claim (screening_id, seat_id, reservation_id) " +
+            "SELECT ?, seat_id, ? FROM unnest(?) AS seat_id " +
+            "ON CONFLICT (screening_id, seat_id) DO NOTHING " +
+            "RETURNING seat_id), " +
+            "counted AS (UPDATE screening SET reserved_seat_count = reserved_seat_count + " +
+            "(SELECT count(*) FROM claimed) WHERE id = ?) " +
+            "SELECT seat_id FROM claimed";
+
+    private static final String LOCK_SQL = "SELECT id FROM screening WHERE id = ? FOR NO KEY UPDATE";
+
+    // Locks in ascending id order so two releases spanning several screenings cannot deadlock
+    private static final String LOCK_CLAIMED_SQL =
+            "SELECT id FROM screening WHERE id IN " +
+            "(SELECT screening_id FROM screening_seat_claim WHERE reservation_id = ANY(?)) " +
+            "ORDER BY id FOR NO KEY UPDATE";
+
+    private static final String RELEASE_SQL =
+            "WITH released AS (DELETE FROM screening_seat_claim WHERE %s RETURNING screening_id, seat_id), " +
+            "counted AS (UPDATE screening s SET reserved_seat_count = s.reserved_seat_count - r.seats " +
+            "FROM (SELECT screening_id, count(*) AS seats FROM released GROUP BY screening_id) r " +
+            "WHERE s.id = r.screening_id) " +
+            "SELECT seat_id FROM released";
+
+    private static final String RELEASE_RESERVATIONS_SQL =
+            "WITH released AS (DELETE FROM screening_seat_claim WHERE reservation_id = ANY(?) " +
+            "RETURNING screening_id, seat_id), " +
+            "counted AS (UPDATE screening s SET reserved_seat_count = s.reserved_seat_count - r.seats " +
+            "FROM (SELECT screening_id, count(*) AS seats FROM released GROUP BY screening_id) r " +
+            "WHERE s.id = r.screening_id) " +
+            "SELECT screening_id, seat_id FROM released";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScreeningSeatClaimRepository claimRepository;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Claims all seats for the reservation with a single statement.
+     *
+     * @return the seats that were already claimed by another reservation; empty if every claim succeeded
+     */
+    public List<Long> claim(Long screeningId, Long reservationId, Collection<Long> seatIds) {
+        Set<Long> requested = new LinkedHashSet<>(seatIds);
+        lockScreening(screeningId);
+
+        Set<Long> claimed = new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(CLAIM_SQL);
+            ps.setLong(1, screeningId);
+            ps.setLong(2, reservationId);
+            ps.setArray(3, connection.createArrayOf("bigint", requested.toArray()));
+            ps.setLong(4, screeningId);
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1)));
+
+        List<Long> conflicts = new ArrayList<>();
+        for (Long seatId : requested) {
+            if (!claimed.contains(seatId)) {
+                conflicts.add(seatId);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Takes the screening row lock that the claim statement would take anyway,
+     * before it writes any claim. Claims on other screenings never wait.
+     */
+    private void lockScreening(Long screeningId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        jdbcTemplate.queryForList(LOCK_SQL, Long.class, screeningId);
+        sample.stop(meterRegistry.timer("reservation.claim.lock.wait"));
+    }
+
+    /**
+     * Locks the screening rows of every claim the reservations hold, before
+     * they are deleted.
+     */
+    private void lockClaimedScreenings(Collection<Long> reservationIds) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LOCK_CLAIMED_SQL);
+            ps.setArray(1, connection.createArrayOf("bigint", reservationIds.toArray()));
+            return ps;
+        }, rs -> {
+        });
+    }
+
+    /**
+     * Releases every claim the reservation still holds. The returned seats are
+     * the ones actually freed: after the lease or cleanup sweep released a
+     * reservation its seats may already be claimed by another one, and must not
+     * be marked free again.
+     *
+     * @return the freed seat ids
+     */
+    public List<Long> releaseReservation(Long reservationId) {
+        lockClaimedScreenings(List.of(reservationId));
+        return jdbcTemplate.query(RELEASE_SQL.formatted("reservation_id = ?"),
+                (rs, rowNum) -> rs.getLong(1), reservationId);
+    }
+
+    /**
+     * Releases every claim of the reservations with one statement.
+     *
+     * @return the freed seat ids grouped by screening
+     */
+    public Map<Long, Set<Long>> releaseReservations(Collection<Long> reservationIds) {
+        Map<Long, Set<Long>> freedSeats = new HashMap<>();
+        if (!reservationIds.isEmpty()) {
+            lockClaimedScreenings(reservationIds);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(RELEASE_RESERVATIONS_SQL);
+                ps.setArray(1, connection.createArrayOf("bigint", reservationIds.toArray()));
+                return ps;
+            }, rs -> {
+                freedSeats.computeIfAbsent(rs.getLong(1), screeningId -> new HashSet<>()).add(rs.getLong(2));
+            });
+        }
+        return freedSeats;
+    }
+
+    /**
+     * Releases the given seats if the reservation still claims them.
+     *
+     * @return the freed seat ids
+     */
+    public List<Long> releaseSeats(Long reservationId, Collection<Long> seatIds) {
+        if (seatIds.isEmpty()) {
+            return List.of();
+        }
+        lockClaimedScreenings(List.of(reservationId));
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    RELEASE_SQL.formatted("reservation_id = ? AND seat_id = ANY(?)"));
+            ps.setLong(1, reservationId);
+            ps.setArray(2, connection.createArrayOf("bigint", seatIds.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    public void releaseScreening(Long screeningId) {
+        claimRepository.deleteByScreeningId(screeningId);
+    }
+
+    public List<Long> findClaimedSeatIds(Long screeningId) {
+        return claimRepository.findSeatIdsByScreeningId(screeningId);
+    }
+}
@@ -0,0 +1,238 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.SeatMapCompactDTO;
+import org.example.backend.event.CatalogChangedEvent;
+import org.example.backend.event.SeatStatusChangedEvent;
+import org.example.backend.exception.ResourceNotFoundException;
+import org.example.backend.model.Room;
+import org.example.backend.model.Screening;
+import org.example.backend.repository.RoomRepository;
+import org.example.backend.repository.ScreeningRepository;
+import org.example.backend.repository.SeatRepository;
+import org.example.backend.service.inventory.RoomLayout;
+import org.example.backend.service.inventory.ScreeningSeatMap;
+import org.example.backend.service.inventory.SeatMapChange;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.example.backend.service.TransactionCallbacks.afterCommit;
+
+/**
+ * Keeps the seat occupancy of active screenings in memory so seat maps can be
+ * served without touching the database. Each screening is loaded on first
+ * access and then kept up to date by the reservation write paths of this node
+ * and, through {@link SeatClaimNotificationListener}, by the claims committed on
+ * other nodes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatInventoryService {
+
+    private final ScreeningRepository screeningRepository;
+    private final RoomRepository roomRepository;
+    private final SeatRepository seatRepository;
+    private final SeatClaimService seatClaimService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, RoomLayout> layouts = new ConcurrentHashMap<>();
+    private final Map<Long, ScreeningSeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    public ScreeningSeatMap getSeatMap(Long screeningId) {
+        while (true) {
+            ScreeningSeatMap seatMap = seatMaps.get(screeningId);
+            if (seatMap == null) {
+                seatMap = load(screeningId);
+            }
+            if (seatMap.awaitLoaded()) {
+                return seatMap;
+            }
+            seatMaps.remove(screeningId, seatMap);
+        }
+    }
+
+    public RoomLayout getLayout(Long roomId) {
+        RoomLayout layout = layouts.get(roomId);
+        if (layout == null) {
+            Room room = roomRepository.findById(roomId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + roomId));
+            layout = RoomLayout.of(room, seatRepository.findByRoomId(roomId));
+            layouts.put(roomId, layout);
+        }
+        return layout;
+    }
+
+    /**
+     * Marks the seats as held once the surrounding transaction commits.
+     */
+    public void reserve(Long screeningId, Collection<Long> seatIds) {
+        afterCommit(() -> {
+            ScreeningSeatMap seatMap = seatMaps.get(screeningId);
+            if (seatMap != null) {
+                publish(screeningId, seatMap.hold(List.copyOf(seatIds)), true);
+            }
+            eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.SEATS));
+        });
+    }
+
+    /**
+     * Marks the seats as free once the surrounding transaction commits.
+     */
+    public void release(Long screeningId, Collection<Long> seatIds) {
+        if (seatIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            ScreeningSeatMap seatMap = seatMaps.get(screeningId);
+            if (seatMap != null) {
+                publish(screeningId, seatMap.release(List.copyOf(seatIds)), false);
+            }
+            eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.SEATS));
+        });
+    }
+
+    /**
+     * Describes every seat of the screening with its current status, in room grid order.
+     */
+    public List<Map<String, Object>> describeSeats(ScreeningSeatMap seatMap) {
+        RoomLayout layout = seatMap.getLayout();
+        List<Map<String, Object>> seatStatusList = new ArrayList<>(layout.size());
+        for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+            long seatId = layout.seatIdAt(ordinal);
+            if (seatId == 0) {
+                continue;
+            }
+
+            Map<String, Object> seatStatus = new HashMap<>();
+            seatStatus.put("id", seatId);
+            seatStatus.put("row", layout.rowLabelAt(ordinal));
+            seatStatus.put("number", layout.columnNumberAt(ordinal));
+            seatStatus.put("status", seatMap.isReserved(ordinal) ? "RESERVED" : "AVAILABLE");
+            seatStatus.put("roomId", layout.getRoomId());
+            seatStatusList.add(seatStatus);
+        }
+        return seatStatusList;
+    }
+
+    /**
+     * Describes the seat map in the compact wire format: room geometry plus a
+     * base64 bitset of reserved seats.
+     */
+    public SeatMapCompactDTO describeSeatsCompact(ScreeningSeatMap seatMap) {
+        RoomLayout layout = seatMap.getLayout();
+        long version = seatMap.getVersion();
+        long[] words = seatMap.snapshotWords();
+
+        byte[] bits = new byte[(layout.size() + 7) >>> 3];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = (byte) (words[i >>> 3] >>> ((i & 7) << 3));
+        }
+
+        long firstSeatId = layout.getFirstSeatId();
+        return new SeatMapCompactDTO(
+                seatMap.getScreeningId(),
+                layout.getRoomId(),
+                version,
+                layout.getRows(),
+                layout.getColumns(),
+                "ALPHA",
+                firstSeatId != 0 ? firstSeatId : null,
+                firstSeatId != 0 ? null : layout.seatIdsInGridOrder(),
+                Base64.getEncoder().encodeToString(bits));
+    }
+
+    /**
+     * Brings the loaded seat map of the screening in line with the claims in the
+     * database, publishing the seats that changed. Used for changes committed by
+     * other nodes; changes this node already applied produce no delta.
+     */
+    public void resync(Long screeningId) {
+        ScreeningSeatMap seatMap = seatMaps.get(screeningId);
+        if (seatMap == null || !seatMap.awaitLoaded()) {
+            return;
+        }
+        Set<Long> claimed = new HashSet<>(seatClaimService.findClaimedSeatIds(screeningId));
+        RoomLayout layout = seatMap.getLayout();
+        List<Long> held = new ArrayList<>();
+        List<Long> freed = new ArrayList<>();
+        for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+            long seatId = layout.seatIdAt(ordinal);
+            if (seatId == 0) {
+                continue;
+            }
+            boolean reserved = claimed.contains(seatId);
+            if (reserved != seatMap.isReserved(ordinal)) {
+                (reserved ? held : freed).add(seatId);
+            }
+        }
+        publish(screeningId, seatMap.hold(held), true);
+        publish(screeningId, seatMap.release(freed), false);
+    }
+
+    public void resyncAll() {
+        for (Long screeningId : List.copyOf(seatMaps.keySet())) {
+            resync(screeningId);
+        }
+    }
+
+    public void evictScreening(Long screeningId) {
+        afterCommit(() -> seatMaps.remove(screeningId));
+    }
+
+    public void evictRoom(Long roomId) {
+        afterCommit(() -> {
+            layouts.remove(roomId);
+            seatMaps.values().removeIf(seatMap -> seatMap.getLayout().getRoomId().equals(roomId));
+        });
+    }
+
+    @Scheduled(fixedRate = 900000)
+    public void evictFinishedScreenings() {
+        LocalDateTime now = LocalDateTime.now();
+        seatMaps.values().removeIf(seatMap -> seatMap.getEndTime().isBefore(now));
+    }
+
+    private void publish(Long screeningId, SeatMapChange change, boolean reserved) {
+        if (!change.isEmpty()) {
+            eventPublisher.publishEvent(
+                    new SeatStatusChangedEvent(screeningId, change.version(), reserved, change.seatIds()));
+        }
+    }
+
+    private ScreeningSeatMap load(Long screeningId) {
+        Screening screening = screeningRepository.findById(screeningId)
+                .orElseThrow(() -> new ResourceNotFoundException("Screening not found with ID: " + screeningId));
+        RoomLayout layout = getLayout(screening.getRoom().getId());
+
+        ScreeningSeatMap created = new ScreeningSeatMap(screeningId, layout, screening.getEndTime());
+        ScreeningSeatMap existing = seatMaps.putIfAbsent(screeningId, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            List<Long> reservedSeatIds = seatClaimService.findClaimedSeatIds(screeningId);
+            created.completeLoad(reservedSeatIds);
+            log.debug("Loaded seat map for screening {} with {} reserved seats", screeningId, reservedSeatIds.size());
+        } catch (RuntimeException e) {
+            created.failLoad();
+            seatMaps.remove(screeningId, created);
+            throw e;
+        }
+        return created;
+    }
+}
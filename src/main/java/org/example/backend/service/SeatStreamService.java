@@ -0,0 +1,234 @@
+package org.example.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.event.SeatStatusChangedEvent;
+import org.example.backend.service.inventory.ScreeningSeatMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes seat map changes to subscribers of a screening over Server-Sent Events.
+ * <p>
+ * A subscriber first receives a "snapshot" event with the full seat list and
+ * the seat map version, followed by "delta" events for every change with a
+ * higher version. Each event is serialized once and the same bytes are written
+ * to every subscriber.
+ * <p>
+ * A single dispatcher thread builds the events and puts them on a bounded
+ * queue per subscriber, so a subscriber never sees a delta before its
+ * snapshot and request threads never block on slow clients. A pool of sender
+ * threads writes the queues out, at most one thread per subscriber at a time
+ * to keep its events in order. A subscriber whose queue is full is too slow
+ * to keep up and is disconnected; on reconnect it gets a fresh snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatStreamService {
+
+    private static final long EMITTER_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
+    private final SeatInventoryService seatInventoryService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${seat-stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${seat-stream.subscriber-queue-size:32}")
+    private int subscriberQueueSize;
+
+    private final Map<Long, CopyOnWriteArrayList<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "seat-stream-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ExecutorService senders;
+
+    @PostConstruct
+    void startSenders() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "seat-stream-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(Long screeningId) {
+        // Loads the seat map in the request thread so unknown screenings fail with 404
+        ScreeningSeatMap seatMap = seatInventoryService.getSeatMap(screeningId);
+
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        Subscriber subscriber = new Subscriber(emitter, subscriberQueueSize);
+        subscribers.compute(screeningId, (id, screeningSubscribers) -> {
+            CopyOnWriteArrayList<Subscriber> list =
+                    screeningSubscribers != null ? screeningSubscribers : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            return list;
+        });
+
+        Runnable remove = () -> unsubscribe(screeningId, subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        dispatcher.execute(() -> sendSnapshot(screeningId, seatMap, subscriber));
+        return emitter;
+    }
+
+    @EventListener
+    public void onSeatStatusChanged(SeatStatusChangedEvent event) {
+        if (!subscribers.containsKey(event.getScreeningId())) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            CopyOnWriteArrayList<Subscriber> screeningSubscribers = subscribers.get(event.getScreeningId());
+            if (screeningSubscribers == null || screeningSubscribers.isEmpty()) {
+                return;
+            }
+
+            Map<String, Object> delta = new LinkedHashMap<>();
+            delta.put("version", event.getVersion());
+            delta.put("status", event.isReserved() ? "RESERVED" : "AVAILABLE");
+            delta.put("seatIds", event.getSeatIds());
+            Set<DataWithMediaType> message = serialize("delta", event.getVersion(), delta);
+
+            for (Subscriber subscriber : screeningSubscribers) {
+                // Changes before the snapshot are already part of it
+                if (subscriber.initialized) {
+                    enqueue(event.getScreeningId(), subscriber, message);
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedRate = 25000)
+    public void sendHeartbeats() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+            subscribers.forEach((screeningId, screeningSubscribers) -> {
+                for (Subscriber subscriber : screeningSubscribers) {
+                    enqueue(screeningId, subscriber, heartbeat);
+                }
+            });
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(screeningSubscribers ->
+                screeningSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void sendSnapshot(Long screeningId, ScreeningSeatMap seatMap, Subscriber subscriber) {
+        // Read the version first: any change not visible in the seats below has a higher version
+        long version = seatMap.getVersion();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("version", version);
+        snapshot.put("seats", seatInventoryService.describeSeats(seatMap));
+
+        subscriber.initialized = true;
+        enqueue(screeningId, subscriber, serialize("snapshot", version, snapshot));
+    }
+
+    private Set<DataWithMediaType> serialize(String name, long version, Object payload) {
+        try {
+            return SseEmitter.event()
+                    .name(name)
+                    .id(String.valueOf(version))
+                    .data(objectMapper.writeValueAsString(payload), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize seat stream event", e);
+        }
+    }
+
+    /**
+     * Queues the message without blocking and makes sure a sender is draining
+     * the subscriber's queue.
+     */
+    private void enqueue(Long screeningId, Subscriber subscriber, Set<DataWithMediaType> message) {
+        if (!subscriber.pending.offer(message)) {
+            log.debug("Dropping seat stream subscriber of screening {}: {} events behind",
+                    screeningId, subscriber.pending.size());
+            drop(screeningId, subscriber, new IOException("Seat stream subscriber is too slow"));
+            return;
+        }
+        if (subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> drain(screeningId, subscriber));
+        }
+    }
+
+    private void drain(Long screeningId, Subscriber subscriber) {
+        do {
+            Set<DataWithMediaType> message;
+            while ((message = subscriber.pending.poll()) != null) {
+                try {
+                    subscriber.emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping seat stream subscriber of screening {}: {}", screeningId, e.getMessage());
+                    drop(screeningId, subscriber, e);
+                    return;
+                }
+            }
+            subscriber.sending.set(false);
+            // A message queued after the poll above but before the flag was cleared found it still set
+        } while (!subscriber.pending.isEmpty() && subscriber.sending.compareAndSet(false, true));
+    }
+
+    private void drop(Long screeningId, Subscriber subscriber, Exception cause) {
+        unsubscribe(screeningId, subscriber);
+        subscriber.pending.clear();
+        subscriber.emitter.completeWithError(cause);
+    }
+
+    private void unsubscribe(Long screeningId, Subscriber subscriber) {
+        subscribers.computeIfPresent(screeningId, (id, screeningSubscribers) -> {
+            screeningSubscribers.remove(subscriber);
+            return screeningSubscribers.isEmpty() ? null : screeningSubscribers;
+        });
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> pending;
+        // Set while a sender owns the queue, so only one thread writes to the emitter
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // Only touched by the dispatcher thread
+        private boolean initialized;
+
+        private Subscriber(SseEmitter emitter, int queueSize) {
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+}
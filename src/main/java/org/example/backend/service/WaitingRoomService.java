@@ -0,0 +1,179 @@
+package org.example.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.WaitingRoomStatusDTO;
+import org.example.backend.exception.AdmissionRequiredException;
+import org.example.backend.exception.BusinessException;
+import org.example.backend.security.service.UserDetailsImpl;
+import org.example.backend.service.waitingroom.AdmissionTokens;
+import org.example.backend.service.waitingroom.ScreeningWaitingRoom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Virtual waiting room for screenings under heavy demand.
+ * <p>
+ * Seat map and reservation requests are counted per screening. When a
+ * screening goes over the configured request rate it becomes hot: from then
+ * on those requests need an admission token. Clients get one by joining the
+ * FIFO queue and polling their position; tickets are admitted at a fixed drain
+ * rate, so the reservation path sees a steady flow instead of the whole peak.
+ * A screening cools down once its rate has dropped and the queue is empty.
+ * <p>
+ * Admission tokens are only handed out for tickets that went through the
+ * queue, never for a screening that is not hot, so they cannot be collected
+ * ahead of an on-sale. Tickets and tokens of signed-in users are bound to that
+ * user. Anonymous visitors can queue too: their token is tied to the ticket
+ * that earned it, one queue pass each, and is accepted from any caller.
+ * <p>
+ * Counters and queues are kept per node, so a ticket names the node and room
+ * epoch that issued it and is only resolved there; polling has to reach the
+ * node the client joined on. Admission tokens are signed and accepted by any
+ * node sharing the secret.
+ */
+@Service
+@Slf4j
+public class WaitingRoomService {
+
+    public static final String ADMISSION_HEADER = "X-Admission-Token";
+
+    private static final String TICKET = "ticket";
+    private static final String ADMISSION = "admission";
+    private static final long IDLE_SECONDS = 300;
+    // User id signed into the tickets and tokens of anonymous callers
+    private static final long ANONYMOUS = 0;
+
+    @Value("${waiting-room.enabled:true}")
+    private boolean enabled;
+
+    @Value("${waiting-room.hot-requests-per-second:50}")
+    private double hotRequestsPerSecond;
+
+    @Value("${waiting-room.drain-per-second:20}")
+    private int drainPerSecond;
+
+    @Value("${waiting-room.admission-ttl-minutes:10}")
+    private long admissionTtlMinutes;
+
+    @Value("${waiting-room.token-secret:${jwt.secret}}")
+    private String tokenSecret;
+
+    // Tells this node's tickets apart from those of other nodes and earlier runs
+    private final long nodeId = new SecureRandom().nextLong();
+    private final AtomicLong roomEpochs = new AtomicLong();
+    private final Map<Long, ScreeningWaitingRoom> rooms = new ConcurrentHashMap<>();
+    private AdmissionTokens tokens;
+
+    @PostConstruct
+    void createTokens() {
+        tokens = new AdmissionTokens(tokenSecret);
+    }
+
+    /**
+     * Counts a request for the screening and, if the screening is hot, rejects it
+     * unless it carries an unexpired admission token issued to the current user.
+     */
+    public void checkAdmission(Long screeningId, String admissionToken) {
+        if (!enabled || screeningId == null) {
+            return;
+        }
+        long now = Instant.now().getEpochSecond();
+        ScreeningWaitingRoom room = room(screeningId);
+        room.recordRequest(now);
+
+        if (!room.isHot()) {
+            return;
+        }
+        // Payload: user id, expiry
+        long[] admission = tokens.verify(admissionToken, ADMISSION, screeningId, 2);
+        if (admission == null || admission[1] < now
+                || (admission[0] != ANONYMOUS && admission[0] != currentUserId())) {
+            throw new AdmissionRequiredException(screeningId);
+        }
+    }
+
+    /**
+     * Puts the current user in the queue of a hot screening. A screening that is
+     * not hot needs no admission, so no token is issued for it.
+     */
+    public WaitingRoomStatusDTO join(Long screeningId) {
+        long userId = currentUserId();
+        ScreeningWaitingRoom room = room(screeningId);
+        if (!room.isHot()) {
+            return new WaitingRoomStatusDTO(screeningId, true, 0, null, null, null);
+        }
+        return status(screeningId, room, room.issueTicket(), userId);
+    }
+
+    public WaitingRoomStatusDTO getStatus(Long screeningId, String ticketToken) {
+        long userId = currentUserId();
+        // Payload: node id, room epoch, ticket number, user id
+        long[] ticket = tokens.verify(ticketToken, TICKET, screeningId, 4);
+        // A visitor who signs in while waiting keeps an anonymous ticket
+        if (ticket == null || (ticket[3] != ANONYMOUS && ticket[3] != userId)) {
+            throw new BusinessException("Invalid waiting room ticket");
+        }
+        ScreeningWaitingRoom room = rooms.get(screeningId);
+        if (ticket[0] != nodeId || room == null || room.getEpoch() != ticket[1]) {
+            // Another node's counters, or a room that has been dropped since: the number means nothing here
+            throw new BusinessException("This waiting room ticket is no longer valid, join the waiting room again");
+        }
+        // A room only cools down once its queue is empty, so the ticket has been admitted either way
+        return status(screeningId, room, ticket[2], ticket[3]);
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void tick() {
+        long now = Instant.now().getEpochSecond();
+        rooms.forEach((screeningId, room) -> {
+            double rate = room.requestsPerSecond(now);
+            if (!room.isHot() && rate >= hotRequestsPerSecond) {
+                room.setHot(true);
+                log.info("Screening {} is hot ({} requests/s), waiting room enabled", screeningId, rate);
+            } else if (room.isHot() && rate < hotRequestsPerSecond / 2 && room.waiting() == 0) {
+                room.setHot(false);
+                log.info("Screening {} cooled down ({} requests/s), waiting room disabled", screeningId, rate);
+            }
+
+            if (room.isHot()) {
+                room.drain(drainPerSecond);
+            } else if (now - room.getLastRequestSecond() > IDLE_SECONDS) {
+                rooms.remove(screeningId, room);
+            }
+        });
+    }
+
+    private ScreeningWaitingRoom room(Long screeningId) {
+        return rooms.computeIfAbsent(screeningId, id -> new ScreeningWaitingRoom(roomEpochs.incrementAndGet()));
+    }
+
+    private WaitingRoomStatusDTO status(Long screeningId, ScreeningWaitingRoom room, long ticket, long userId) {
+        long position = room.positionOf(ticket);
+        if (position == 0) {
+            long expiresAt = Instant.now().getEpochSecond() + admissionTtlMinutes * 60;
+            return new WaitingRoomStatusDTO(screeningId, true, 0, null, null,
+                    tokens.sign(ADMISSION, screeningId, userId, expiresAt));
+        }
+        long estimatedWaitSeconds = (position + drainPerSecond - 1) / drainPerSecond;
+        return new WaitingRoomStatusDTO(screeningId, false, position, estimatedWaitSeconds,
+                tokens.sign(TICKET, screeningId, nodeId, room.getEpoch(), ticket, userId), null);
+    }
+
+    private static long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
+            return ((UserDetailsImpl) authentication.getPrincipal()).getId();
+        }
+        return ANONYMOUS;
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.backend.service.catalog;
+
+import org.example.backend.dto.MovieSuggestionDTO;
+import org.example.backend.model.Movie;
+
+import java.math.BigDecimal;
+import java.text.Collator;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index over the titles, directors and tags of the active
+ * movies. Every word-aligned suffix of those texts is a key, so "rings" finds
+ * "The Lord of the Rings", and the keys are kept in one sorted array: the keys
+ * starting with a prefix are a contiguous range found with a binary search.
+ * Movies are numbered by popularity, so the top results are the lowest
+ * numbers among the matches.
+ */
+public final class MovieAutocompleteIndex {
+
+    private static final Collator TITLE_COLLATOR = Collator.getInstance(Locale.forLanguageTag("es"));
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Ordered by popularity, most popular first
+    private final MovieSuggestionDTO[] suggestions;
+    private final String[] keys;
+    // Popularity rank of the movie each key belongs to
+    private final int[] ranks;
+
+    /**
+     * @param tags tags by movie id; movies without an entry have none
+     */
+    public static MovieAutocompleteIndex build(Collection<Movie> movies, Map<Long, List<String>> tags) {
+        Comparator<BigDecimal> mostPopularFirst = Comparator.nullsLast(Comparator.<BigDecimal>reverseOrder());
+        List<Movie> sorted = new ArrayList<>(movies);
+        sorted.sort(Comparator.comparing(Movie::getPopularity, mostPopularFirst)
+                .thenComparing(Movie::getTitle, TITLE_COLLATOR)
+                .thenComparing(Movie::getId));
+        return new MovieAutocompleteIndex(sorted, tags);
+    }
+
+    private MovieAutocompleteIndex(List<Movie> sorted, Map<Long, List<String>> tags) {
+        suggestions = new MovieSuggestionDTO[sorted.size()];
+        List<Key> entries = new ArrayList<>();
+        for (int rank = 0; rank < sorted.size(); rank++) {
+            Movie movie = sorted.get(rank);
+            suggestions[rank] = MovieSuggestionDTO.fromMovie(movie);
+
+            Set<String> movieKeys = new LinkedHashSet<>();
+            addKeys(movieKeys, movie.getTitle());
+            addKeys(movieKeys, movie.getDirector());
+            for (String tag : tags.getOrDefault(movie.getId(), List.of())) {
+                addKeys(movieKeys, tag);
+            }
+            for (String key : movieKeys) {
+                entries.add(new Key(key, rank));
+            }
+        }
+
+        entries.sort(Comparator.comparing(Key::text).thenComparingInt(Key::rank));
+        keys = new String[entries.size()];
+        ranks = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).text();
+            ranks[i] = entries.get(i).rank();
+        }
+    }
+
+    /**
+     * The {@code limit} most popular movies with a title, director or tag
+     * containing a word that starts with the prefix. Case, accents and
+     * punctuation are ignored.
+     */
+    public List<MovieSuggestionDTO> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int index = Arrays.binarySearch(keys, normalized);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        BitSet matches = new BitSet(suggestions.length);
+        for (; index < keys.length && keys[index].startsWith(normalized); index++) {
+            matches.set(ranks[index]);
+        }
+
+        List<MovieSuggestionDTO> result = new ArrayList<>(Math.min(limit, matches.cardinality()));
+        for (int rank = matches.nextSetBit(0); rank >= 0 && result.size() < limit; rank = matches.nextSetBit(rank + 1)) {
+            result.add(suggestions[rank]);
+        }
+        return result;
+    }
+
+    private static void addKeys(Set<String> movieKeys, String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        for (int start = 0; start >= 0; start = nextWord(normalized, start)) {
+            movieKeys.add(normalized.substring(start));
+        }
+    }
+
+    private static int nextWord(String normalized, int from) {
+        int space = normalized.indexOf(' ', from);
+        return space < 0 ? -1 : space + 1;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private record Key(String text, int rank) {
+    }
+}
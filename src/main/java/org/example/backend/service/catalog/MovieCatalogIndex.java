@@ -0,0 +1,197 @@
+package org.example.backend.service.catalog;
+
+import org.example.backend.dto.MovieDTO;
+
+import java.math.BigDecimal;
+import java.text.Collator;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable index of the active movies for the movie filter page. Movies are
+ * numbered by title order and every facet (genre, duration bucket, rating) is
+ * a bitmap over those numbers, so a filter is a handful of bitmap
+ * intersections. Upcoming screening start times are kept per movie and
+ * checked against the requested time frame with a binary search, which stays
+ * exact as time passes without rebuilding the index.
+ */
+public final class MovieCatalogIndex {
+
+    public static final String SHORT = "short";
+    public static final String MEDIUM = "medium";
+    public static final String LONG = "long";
+
+    private static final Collator TITLE_COLLATOR = Collator.getInstance(Locale.forLanguageTag("es"));
+
+    private final MovieDTO[] movies;
+    private final String[] lowerCaseTitles;
+    // Sorted start times of each movie's screenings, as UTC epoch seconds of the local date-time
+    private final long[][] screeningStarts;
+    private final Map<String, BitSet> byGenre = new HashMap<>();
+    private final Map<String, BitSet> byDuration = new HashMap<>();
+    private final Map<String, BitSet> byRating = new HashMap<>();
+    private final int[] byVoteAverage;
+    private final BitSet all;
+
+    /**
+     * @param screeningStarts start times of upcoming screenings by movie id;
+     *                        movies without an entry have none
+     */
+    public static MovieCatalogIndex build(Collection<MovieDTO> movies, Map<Long, List<LocalDateTime>> screeningStarts) {
+        List<MovieDTO> sorted = new ArrayList<>(movies);
+        sorted.sort(Comparator.comparing((MovieDTO movie) -> movie.getTitle(), TITLE_COLLATOR)
+                .thenComparing(MovieDTO::getId));
+        return new MovieCatalogIndex(sorted, screeningStarts);
+    }
+
+    private MovieCatalogIndex(List<MovieDTO> sorted, Map<Long, List<LocalDateTime>> starts) {
+        int size = sorted.size();
+        movies = sorted.toArray(new MovieDTO[0]);
+        lowerCaseTitles = new String[size];
+        screeningStarts = new long[size][];
+        all = new BitSet(size);
+        all.set(0, size);
+
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            MovieDTO movie = movies[ordinal];
+            lowerCaseTitles[ordinal] = movie.getTitle().toLowerCase(Locale.ROOT);
+            screeningStarts[ordinal] = starts.getOrDefault(movie.getId(), List.of()).stream()
+                    .mapToLong(MovieCatalogIndex::epochSecond)
+                    .sorted()
+                    .toArray();
+
+            for (String genre : movie.getGenreNames()) {
+                byGenre.computeIfAbsent(genre, name -> new BitSet(size)).set(ordinal);
+            }
+            String durationBucket = durationBucket(movie.getDurationMinutes());
+            if (durationBucket != null) {
+                byDuration.computeIfAbsent(durationBucket, name -> new BitSet(size)).set(ordinal);
+            }
+            if (movie.getRating() != null) {
+                byRating.computeIfAbsent(movie.getRating(), name -> new BitSet(size)).set(ordinal);
+            }
+        }
+
+        // Highest vote average first and, as in PostgreSQL's DESC, movies without votes before all others
+        Comparator<BigDecimal> highestFirst = Comparator.nullsFirst(Comparator.<BigDecimal>reverseOrder());
+        byVoteAverage = IntStream.range(0, size)
+                .boxed()
+                .sorted(Comparator.comparing((Integer ordinal) -> movies[ordinal].getVoteAverage(), highestFirst))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Same parameters and results as the former Criteria query behind
+     * /api/movies/filter. Genres match any of the given names, unknown duration
+     * values are ignored and unknown time frames mean the next year.
+     */
+    public List<MovieDTO> filter(String searchTerm, List<String> genres, String duration, String rating,
+            String timeFrame, String sortBy, LocalDateTime now) {
+        BitSet matches = (BitSet) all.clone();
+
+        if (genres != null && !genres.isEmpty()) {
+            BitSet anyGenre = new BitSet(movies.length);
+            for (String genre : genres) {
+                BitSet withGenre = byGenre.get(genre);
+                if (withGenre != null) {
+                    anyGenre.or(withGenre);
+                }
+            }
+            matches.and(anyGenre);
+        }
+        if (duration != null && (duration.equals(SHORT) || duration.equals(MEDIUM) || duration.equals(LONG))) {
+            matches.and(byDuration.getOrDefault(duration, new BitSet()));
+        }
+        if (rating != null && !rating.isEmpty()) {
+            matches.and(byRating.getOrDefault(rating, new BitSet()));
+        }
+        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
+            String term = searchTerm.toLowerCase(Locale.ROOT);
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                if (!lowerCaseTitles[ordinal].contains(term)) {
+                    matches.clear(ordinal);
+                }
+            }
+        }
+        if (timeFrame != null && !timeFrame.isEmpty()) {
+            BitSet showing = showingBetween(now, timeFrameEnd(timeFrame, now));
+            // As before, a time frame in which nothing is showing does not filter at all
+            if (!showing.isEmpty()) {
+                matches.and(showing);
+            }
+        }
+
+        return sorted(matches, sortBy);
+    }
+
+    private BitSet showingBetween(LocalDateTime from, LocalDateTime to) {
+        long fromSecond = epochSecond(from);
+        long toSecond = epochSecond(to);
+        BitSet showing = new BitSet(movies.length);
+        for (int ordinal = 0; ordinal < movies.length; ordinal++) {
+            long[] starts = screeningStarts[ordinal];
+            int index = Arrays.binarySearch(starts, fromSecond);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            if (index < starts.length && starts[index] <= toSecond) {
+                showing.set(ordinal);
+            }
+        }
+        return showing;
+    }
+
+    private List<MovieDTO> sorted(BitSet matches, String sortBy) {
+        List<MovieDTO> result = new ArrayList<>(matches.cardinality());
+        if ("title-desc".equals(sortBy)) {
+            for (int ordinal = matches.previousSetBit(movies.length - 1); ordinal >= 0;
+                    ordinal = matches.previousSetBit(ordinal - 1)) {
+                result.add(movies[ordinal]);
+            }
+        } else if ("rating".equals(sortBy)) {
+            for (int ordinal : byVoteAverage) {
+                if (matches.get(ordinal)) {
+                    result.add(movies[ordinal]);
+                }
+            }
+        } else {
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                result.add(movies[ordinal]);
+            }
+        }
+        return result;
+    }
+
+    private static LocalDateTime timeFrameEnd(String timeFrame, LocalDateTime now) {
+        return switch (timeFrame) {
+            case "today" -> now.toLocalDate().atTime(23, 59, 59);
+            case "week" -> now.plusDays(7);
+            default -> now.plusYears(1);
+        };
+    }
+
+    private static String durationBucket(Integer minutes) {
+        if (minutes == null) {
+            return null;
+        }
+        if (minutes < 90) {
+            return SHORT;
+        }
+        return minutes <= 120 ? MEDIUM : LONG;
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.backend.service.inventory;
+
+/**
+ * Picks the best block of adjacent free seats in a room. Each row is turned
+ * into a bitmap of free seats and runs of the requested length are found with
+ * shift-and on whole words, so a row costs a few word operations regardless of
+ * how many seats it has. Among all runs, the one whose centre is closest to
+ * the centre of the room wins, with row and column distances normalised by the
+ * room size.
+ */
+public final class BestSeatFinder {
+
+    private BestSeatFinder() {
+    }
+
+    /**
+     * @param reservedWords occupancy bitset in grid order, as returned by
+     *                      {@link ScreeningSeatMap#snapshotWords()}
+     * @return the ordinals of the chosen seats from left to right, or null if no
+     *         row has enough adjacent free seats
+     */
+    public static int[] find(RoomLayout layout, long[] reservedWords, int partySize) {
+        int rows = layout.getRows();
+        int columns = layout.getColumns();
+        if (partySize < 1 || partySize > columns) {
+            return null;
+        }
+
+        long[] seatWords = layout.seatWords();
+        int rowWords = (columns + 63) >>> 6;
+        long[] free = new long[rowWords];
+        long[] runs = new long[rowWords];
+        long[] shifted = new long[rowWords];
+
+        double rowCentre = (rows - 1) / 2.0;
+        double idealStart = (columns - partySize) / 2.0;
+        double bestScore = Double.MAX_VALUE;
+        int bestOrdinal = -1;
+
+        for (int row = 0; row < rows; row++) {
+            int rowStart = row * columns;
+            extract(seatWords, reservedWords, rowStart, columns, free);
+
+            // After this loop bit c of runs is set iff columns c .. c + partySize - 1 are free
+            System.arraycopy(free, 0, runs, 0, rowWords);
+            int length = 1;
+            while (length < partySize) {
+                int step = Math.min(length, partySize - length);
+                shiftRight(runs, step, shifted);
+                for (int i = 0; i < rowWords; i++) {
+                    runs[i] &= shifted[i];
+                }
+                length += step;
+            }
+
+            double rowDistance = rows > 1 ? (row - rowCentre) / rows : 0;
+            for (int i = 0; i < rowWords; i++) {
+                long word = runs[i];
+                while (word != 0) {
+                    int column = (i << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+
+                    double columnDistance = (column - idealStart) / columns;
+                    double score = rowDistance * rowDistance + columnDistance * columnDistance;
+                    if (score < bestScore) {
+                        bestScore = score;
+                        bestOrdinal = rowStart + column;
+                    }
+                }
+            }
+        }
+
+        if (bestOrdinal < 0) {
+            return null;
+        }
+        int[] ordinals = new int[partySize];
+        for (int i = 0; i < partySize; i++) {
+            ordinals[i] = bestOrdinal + i;
+        }
+        return ordinals;
+    }
+
+    /**
+     * Copies the free-seat bits of one row (seat present and not reserved) into
+     * {@code out}, bit 0 being the first column.
+     */
+    private static void extract(long[] seatWords, long[] reservedWords, int from, int length, long[] out) {
+        for (int i = 0; i < out.length; i++) {
+            int bit = from + (i << 6);
+            int word = bit >>> 6;
+            int offset = bit & 63;
+
+            long present = seatWords[word] >>> offset;
+            long reserved = reservedWords[word] >>> offset;
+            if (offset != 0 && word + 1 < seatWords.length) {
+                present |= seatWords[word + 1] << (64 - offset);
+                reserved |= reservedWords[word + 1] << (64 - offset);
+            }
+
+            long value = present & ~reserved;
+            int remaining = length - (i << 6);
+            if (remaining < 64) {
+                value &= (1L << remaining) - 1;
+            }
+            out[i] = value;
+        }
+    }
+
+    private static void shiftRight(long[] source, int distance, long[] target) {
+        int wordShift = distance >>> 6;
+        int bitShift = distance & 63;
+        for (int i = 0; i < target.length; i++) {
+            int from = i + wordShift;
+            long value = from < source.length ? source[from] >>> bitShift : 0;
+            if (bitShift != 0 && from + 1 < source.length) {
+                value |= source[from + 1] << (64 - bitShift);
+            }
+            target[i] = value;
+        }
+    }
+}
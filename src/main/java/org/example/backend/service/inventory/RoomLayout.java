@@ -0,0 +1,137 @@
+package org.example.backend.service.inventory;
+
+import org.example.backend.model.Room;
+import org.example.backend.model.Seat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable seat geometry of a room. A seat's ordinal is its position in the
+ * room grid: {@code row * columns + (columnNumber - 1)}.
+ */
+public final class RoomLayout {
+
+    private final Long roomId;
+    private final int rows;
+    private final int columns;
+    private final long[] seatIds;
+    private final String[] rowLabels;
+    private final Map<Long, Integer> ordinalBySeatId;
+    private final long firstSeatId;
+    private final long[] seatWords;
+
+    private RoomLayout(Long roomId, int rows, int columns, long[] seatIds, String[] rowLabels,
+            Map<Long, Integer> ordinalBySeatId) {
+        this.roomId = roomId;
+        this.rows = rows;
+        this.columns = columns;
+        this.seatIds = seatIds;
+        this.rowLabels = rowLabels;
+        this.ordinalBySeatId = ordinalBySeatId;
+        this.firstSeatId = contiguousFirstSeatId(seatIds);
+        this.seatWords = new long[(seatIds.length + 63) >>> 6];
+        for (int ordinal = 0; ordinal < seatIds.length; ordinal++) {
+            if (seatIds[ordinal] != 0) {
+                seatWords[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+    }
+
+    private static long contiguousFirstSeatId(long[] seatIds) {
+        if (seatIds.length == 0 || seatIds[0] == 0) {
+            return 0;
+        }
+        for (int ordinal = 1; ordinal < seatIds.length; ordinal++) {
+            if (seatIds[ordinal] != seatIds[0] + ordinal) {
+                return 0;
+            }
+        }
+        return seatIds[0];
+    }
+
+    public static RoomLayout of(Room room, List<Seat> seats) {
+        int rows = room.getRows();
+        int columns = room.getColumns();
+        long[] seatIds = new long[rows * columns];
+        String[] rowLabels = new String[rows];
+        Map<Long, Integer> ordinalBySeatId = new HashMap<>(seats.size() * 2);
+
+        for (Seat seat : seats) {
+            int row = Room.rowIndexOf(seat.getRowLabel());
+            int column = seat.getColumnNumber() - 1;
+            if (row < 0 || row >= rows || column < 0 || column >= columns) {
+                continue;
+            }
+            int ordinal = row * columns + column;
+            seatIds[ordinal] = seat.getId();
+            rowLabels[row] = seat.getRowLabel();
+            ordinalBySeatId.put(seat.getId(), ordinal);
+        }
+
+        return new RoomLayout(room.getId(), rows, columns, seatIds, rowLabels, ordinalBySeatId);
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int size() {
+        return seatIds.length;
+    }
+
+    /**
+     * @return the seat id at the given ordinal, or 0 if the grid has no seat there
+     */
+    public long seatIdAt(int ordinal) {
+        return seatIds[ordinal];
+    }
+
+    /**
+     * @return the id of the first seat if every grid position holds a seat and ids
+     *         grow by one in grid order, otherwise 0
+     */
+    public long getFirstSeatId() {
+        return firstSeatId;
+    }
+
+    /**
+     * @return a copy of the seat ids in grid order, 0 where the grid has no seat
+     */
+    public long[] seatIdsInGridOrder() {
+        return seatIds.clone();
+    }
+
+    /**
+     * Bitset in grid order with a bit set for every position that holds a seat.
+     * Shared, callers must not modify it.
+     */
+    long[] seatWords() {
+        return seatWords;
+    }
+
+    public String rowLabelAt(int ordinal) {
+        return rowLabels[ordinal / columns];
+    }
+
+    public int columnNumberAt(int ordinal) {
+        return ordinal % columns + 1;
+    }
+
+    /**
+     * @return the ordinal of the seat, or -1 if it does not belong to this room
+     */
+    public int ordinalOf(Long seatId) {
+        Integer ordinal = ordinalBySeatId.get(seatId);
+        return ordinal != null ? ordinal : -1;
+    }
+}
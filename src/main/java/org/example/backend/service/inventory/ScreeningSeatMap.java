@@ -0,0 +1,200 @@
+package org.example.backend.service.inventory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Occupancy bitset of one screening, indexed by seat ordinal in the room grid.
+ * A set bit means the seat is held by a PENDING or CONFIRMED reservation.
+ * <p>
+ * Bits are flipped with compare-and-set so readers never block. While the map
+ * is being loaded from the database, changes are queued and replayed once the
+ * initial state is in place, so no committed change is lost.
+ */
+public final class ScreeningSeatMap {
+
+    private final Long screeningId;
+    private final RoomLayout layout;
+    private final LocalDateTime endTime;
+    private final AtomicLongArray words;
+    private final AtomicLong version = new AtomicLong();
+
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private final List<PendingChange> pending = new ArrayList<>();
+    private volatile boolean ready;
+    private volatile boolean failed;
+
+    public ScreeningSeatMap(Long screeningId, RoomLayout layout, LocalDateTime endTime) {
+        this.screeningId = screeningId;
+        this.layout = layout;
+        this.endTime = endTime;
+        this.words = new AtomicLongArray((layout.size() + 63) >>> 6);
+    }
+
+    public Long getScreeningId() {
+        return screeningId;
+    }
+
+    public RoomLayout getLayout() {
+        return layout;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public boolean isReserved(int ordinal) {
+        return (words.get(ordinal >>> 6) & (1L << ordinal)) != 0;
+    }
+
+    public int reservedCount() {
+        int count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * Copies the bitset into a plain array, one long per 64 seats.
+     */
+    public long[] snapshotWords() {
+        long[] copy = new long[words.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = words.get(i);
+        }
+        return copy;
+    }
+
+    /**
+     * Marks the seats as held.
+     *
+     * @return the seats whose bit actually changed, with the resulting version
+     */
+    public SeatMapChange hold(Collection<Long> seatIds) {
+        return apply(seatIds, true);
+    }
+
+    /**
+     * Marks the seats as free.
+     *
+     * @return the seats whose bit actually changed, with the resulting version
+     */
+    public SeatMapChange release(Collection<Long> seatIds) {
+        return apply(seatIds, false);
+    }
+
+    private SeatMapChange apply(Collection<Long> seatIds, boolean reserved) {
+        if (!ready) {
+            synchronized (pending) {
+                if (!ready) {
+                    pending.add(new PendingChange(seatIds, reserved));
+                    return SeatMapChange.NONE;
+                }
+            }
+        }
+
+        List<Long> changed = new ArrayList<>(seatIds.size());
+        for (Long seatId : seatIds) {
+            int ordinal = layout.ordinalOf(seatId);
+            if (ordinal >= 0 && (reserved ? setBit(ordinal) : clearBit(ordinal))) {
+                changed.add(seatId);
+            }
+        }
+        if (changed.isEmpty()) {
+            return SeatMapChange.NONE;
+        }
+        return new SeatMapChange(version.incrementAndGet(), changed);
+    }
+
+    private boolean setBit(int ordinal) {
+        int index = ordinal >>> 6;
+        long mask = 1L << ordinal;
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean clearBit(int ordinal) {
+        int index = ordinal >>> 6;
+        long mask = 1L << ordinal;
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) == 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, current, current & ~mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Installs the state read from the database and replays the changes that
+     * were committed while it was being read.
+     */
+    public void completeLoad(Collection<Long> reservedSeatIds) {
+        for (Long seatId : reservedSeatIds) {
+            int ordinal = layout.ordinalOf(seatId);
+            if (ordinal >= 0) {
+                setBit(ordinal);
+            }
+        }
+        synchronized (pending) {
+            for (PendingChange change : pending) {
+                for (Long seatId : change.seatIds()) {
+                    int ordinal = layout.ordinalOf(seatId);
+                    if (ordinal >= 0) {
+                        if (change.reserved()) {
+                            setBit(ordinal);
+                        } else {
+                            clearBit(ordinal);
+                        }
+                    }
+                }
+            }
+            pending.clear();
+            ready = true;
+        }
+        version.incrementAndGet();
+        loaded.countDown();
+    }
+
+    public void failLoad() {
+        failed = true;
+        loaded.countDown();
+    }
+
+    /**
+     * @return false if the loading thread failed and this map must be discarded
+     */
+    public boolean awaitLoaded() {
+        if (!ready) {
+            try {
+                loaded.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading seat map of screening " + screeningId, e);
+            }
+        }
+        return !failed;
+    }
+
+    private record PendingChange(Collection<Long> seatIds, boolean reserved) {
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.backend.service.inventory;
+
+import java.util.List;
+
+/**
+ * Seats whose bit was flipped by one hold or release, and the seat map version
+ * that change produced.
+ */
+public record SeatMapChange(long version, List<Long> seatIds) {
+
+    static final SeatMapChange NONE = new SeatMapChange(0, List.of());
+
+    public boolean isEmpty() {
+        return seatIds.isEmpty();
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.backend.service.lease;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel keyed by id. Level 0 has {@code wheelSize} slots of
+ * {@code tickMillis}; each further level covers {@code wheelSize} slots of the
+ * whole span of the level below and is created on demand. Scheduling and
+ * cancelling are O(1); advancing costs O(1) per elapsed tick plus the entries
+ * that expire or cascade down a level.
+ * <p>
+ * Deadlines are rounded up to the next tick, so an entry expires at most one
+ * tick after its deadline and never before it.
+ */
+public class HierarchicalTimingWheel {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level> levels = new ArrayList<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final List<Long> overdue = new ArrayList<>();
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        levels.add(new Level(tickMillis, startMillis - startMillis % tickMillis));
+    }
+
+    /**
+     * Schedules the id to expire at the deadline, replacing any previous deadline.
+     */
+    public synchronized void schedule(long id, long deadlineMillis) {
+        cancel(id);
+        long slotTime = ((deadlineMillis + tickMillis - 1) / tickMillis) * tickMillis;
+        Entry entry = new Entry(id, slotTime);
+        entries.put(id, entry);
+        place(entry);
+    }
+
+    public synchronized boolean cancel(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.bucket != null) {
+            entry.bucket.remove(entry);
+        } else {
+            overdue.remove(Long.valueOf(id));
+        }
+        return true;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Moves the clock forward and returns the ids whose deadline has passed.
+     */
+    public synchronized List<Long> advance(long nowMillis) {
+        List<Long> expired = new ArrayList<>(overdue);
+        overdue.clear();
+        for (Long id : expired) {
+            entries.remove(id);
+        }
+
+        Level base = levels.get(0);
+        while (base.currentTime + tickMillis <= nowMillis) {
+            long time = base.currentTime + tickMillis;
+            for (Level level : levels) {
+                if (time % level.tickMillis == 0) {
+                    level.currentTime = time;
+                }
+            }
+
+            // Cascade the upper levels whose slot starts now, highest first
+            for (int i = levels.size() - 1; i >= 1; i--) {
+                Level level = levels.get(i);
+                if (level.currentTime == time) {
+                    Set<Entry> bucket = level.bucketFor(time);
+                    List<Entry> cascading = new ArrayList<>(bucket);
+                    bucket.clear();
+                    for (Entry entry : cascading) {
+                        entry.bucket = null;
+                        placeFrom(entry, 0, time);
+                    }
+                }
+            }
+
+            Set<Entry> bucket = base.bucketFor(time);
+            for (Entry entry : bucket) {
+                entry.bucket = null;
+                entries.remove(entry.id);
+                expired.add(entry.id);
+            }
+            bucket.clear();
+        }
+        return expired;
+    }
+
+    private void place(Entry entry) {
+        Level base = levels.get(0);
+        if (entry.slotTime <= base.currentTime) {
+            overdue.add(entry.id);
+            return;
+        }
+        placeFrom(entry, 0, base.currentTime);
+    }
+
+    private void placeFrom(Entry entry, int levelIndex, long now) {
+        for (int i = levelIndex; ; i++) {
+            Level level = level(i, now);
+            if (entry.slotTime < level.currentTime + level.tickMillis * wheelSize) {
+                Set<Entry> bucket = level.bucketFor(entry.slotTime);
+                bucket.add(entry);
+                entry.bucket = bucket;
+                return;
+            }
+        }
+    }
+
+    private Level level(int index, long now) {
+        while (levels.size() <= index) {
+            long levelTick = levels.get(levels.size() - 1).tickMillis * wheelSize;
+            levels.add(new Level(levelTick, now - now % levelTick));
+        }
+        return levels.get(index);
+    }
+
+    private final class Level {
+        private final long tickMillis;
+        private final List<Set<Entry>> buckets;
+        private long currentTime;
+
+        private Level(long tickMillis, long currentTime) {
+            this.tickMillis = tickMillis;
+            this.currentTime = currentTime;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new HashSet<>());
+            }
+        }
+
+        private Set<Entry> bucketFor(long time) {
+            return buckets.get((int) ((time / tickMillis) % wheelSize));
+        }
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final long slotTime;
+        private Set<Entry> bucket;
+
+        private Entry(long id, long slotTime) {
+            this.id = id;
+            this.slotTime = slotTime;
+        }
+    }
+}
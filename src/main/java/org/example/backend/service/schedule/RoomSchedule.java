@@ -0,0 +1,107 @@
+package org.example.backend.service.schedule;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Screenings of one room ordered by start time. Each screening blocks the room
+ * from its start until its end plus the cleanup buffer, and two screenings of
+ * the same room may not block overlapping intervals.
+ * <p>
+ * Conflict checks only look at slots starting between (start - longest slot)
+ * and the end of the new interval, so they cost O(log n) plus the handful of
+ * slots in that window.
+ */
+public final class RoomSchedule {
+
+    private static final Comparator<Slot> ORDER =
+            Comparator.comparing(Slot::start).thenComparing(Slot::screeningId);
+
+    private final NavigableSet<Slot> slots = new TreeSet<>(ORDER);
+    private final Map<Long, Slot> slotsById = new HashMap<>();
+    private Duration longest = Duration.ZERO;
+
+    /**
+     * @param blockedUntil end of the screening plus the cleanup buffer
+     */
+    public record Slot(Long screeningId, LocalDateTime start, LocalDateTime end, LocalDateTime blockedUntil) {
+    }
+
+    /**
+     * Returns a slot, other than the one of {@code ignoredScreeningId}, that
+     * overlaps [start, blockedUntil), or null if the room is free.
+     */
+    public synchronized Slot findConflict(LocalDateTime start, LocalDateTime blockedUntil, Long ignoredScreeningId) {
+        Slot from = probe(start.minus(longest));
+        Slot to = probe(blockedUntil);
+        for (Slot slot : slots.subSet(from, true, to, false)) {
+            if (!slot.screeningId().equals(ignoredScreeningId) && slot.blockedUntil().isAfter(start)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the slot, replacing the previous one of the same screening, unless it
+     * conflicts with another screening.
+     *
+     * @return the conflicting slot, or null if the slot was added
+     */
+    public synchronized Slot tryPut(Slot slot) {
+        Slot conflict = findConflict(slot.start(), slot.blockedUntil(), slot.screeningId());
+        if (conflict == null) {
+            put(slot);
+        }
+        return conflict;
+    }
+
+    public synchronized void put(Slot slot) {
+        remove(slot.screeningId());
+        slots.add(slot);
+        slotsById.put(slot.screeningId(), slot);
+        Duration length = Duration.between(slot.start(), slot.blockedUntil());
+        if (length.compareTo(longest) > 0) {
+            longest = length;
+        }
+    }
+
+    public synchronized Slot get(Long screeningId) {
+        return slotsById.get(screeningId);
+    }
+
+    public synchronized void remove(Long screeningId) {
+        Slot slot = slotsById.remove(screeningId);
+        if (slot != null) {
+            slots.remove(slot);
+        }
+    }
+
+    /**
+     * Drops slots that stopped blocking the room before {@code time}.
+     */
+    public synchronized void pruneBefore(LocalDateTime time) {
+        Iterator<Slot> iterator = slots.headSet(probe(time), false).iterator();
+        while (iterator.hasNext()) {
+            Slot slot = iterator.next();
+            if (!slot.blockedUntil().isAfter(time)) {
+                iterator.remove();
+                slotsById.remove(slot.screeningId());
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    private static Slot probe(LocalDateTime start) {
+        return new Slot(Long.MIN_VALUE, start, start, start);
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.backend.service.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An immutable value built from the database and replaced in the background.
+ * Rebuild requests that arrive while one is already pending are coalesced into
+ * it, so a burst of changes costs one build; a request with a shorter delay
+ * moves the pending build forward. If a build fails, readers keep
+ * getting the previous value and the build is retried after a delay.
+ */
+@Slf4j
+public final class RebuildingSnapshot<T> implements AutoCloseable {
+
+    private final String name;
+    private final Supplier<T> builder;
+    private final Consumer<T> onRebuilt;
+    private final long retryMillis;
+
+    private volatile T value;
+    private volatile LocalDateTime builtAt;
+    private final Object scheduleLock = new Object();
+    // Guarded by scheduleLock; null while no build is waiting to start
+    private ScheduledFuture<?> pendingRebuild;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * @param onRebuilt called on the builder thread after each background rebuild
+     */
+    public RebuildingSnapshot(String name, Supplier<T> builder, Consumer<T> onRebuilt, long retryMillis) {
+        this.name = name;
+        this.builder = builder;
+        this.onRebuilt = onRebuilt;
+        this.retryMillis = retryMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-snapshot-builder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Only callers that arrive before the first build has finished wait for the
+     * database; everyone else gets the current value without blocking.
+     */
+    public T get() {
+        T current = value;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (value == null) {
+                replace(builder.get());
+            }
+            return value;
+        }
+    }
+
+    public void requestRebuild(long delayMillis) {
+        synchronized (scheduleLock) {
+            if (pendingRebuild != null) {
+                // A build that has already started has not read anything yet either
+                if (pendingRebuild.getDelay(TimeUnit.MILLISECONDS) <= delayMillis || !pendingRebuild.cancel(false)) {
+                    return;
+                }
+            }
+            pendingRebuild = executor.schedule(this::rebuild, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void rebuild() {
+        // Requests that arrive while the build runs schedule the next one
+        synchronized (scheduleLock) {
+            pendingRebuild = null;
+        }
+        T built;
+        try {
+            built = builder.get();
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild the {} snapshot, serving the one built at {}",
+                    name, builtAt != null ? builtAt : "never", e);
+            requestRebuild(retryMillis);
+            return;
+        }
+        synchronized (this) {
+            replace(built);
+        }
+        onRebuilt.accept(built);
+    }
+
+    private void replace(T built) {
+        builtAt = LocalDateTime.now();
+        value = built;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.backend.service.waitingroom;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Signs and checks the stateless tokens of the waiting room. A token is
+ * {@code payload.signature}, where the payload names the kind and the
+ * screening followed by the kind's values, and the signature is an
+ * HMAC-SHA256 over it, so any node sharing the secret can check it.
+ */
+public final class AdmissionTokens {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+
+    public AdmissionTokens(String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    public String sign(String kind, long screeningId, long... values) {
+        StringBuilder payload = new StringBuilder(kind).append(':').append(screeningId);
+        for (long value : values) {
+            payload.append(':').append(value);
+        }
+        return ENCODER.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8))
+                + "." + signature(payload.toString());
+    }
+
+    /**
+     * @return the signed values if the token is genuine and was issued for this kind and screening, otherwise null
+     */
+    public long[] verify(String token, String kind, long screeningId, int valueCount) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            String payload = new String(DECODER.decode(token.substring(0, dot)), StandardCharsets.UTF_8);
+            byte[] expected = signature(payload).getBytes(StandardCharsets.UTF_8);
+            byte[] actual = token.substring(dot + 1).getBytes(StandardCharsets.UTF_8);
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return null;
+            }
+            String[] parts = payload.split(":");
+            if (parts.length != valueCount + 2 || !parts[0].equals(kind) || Long.parseLong(parts[1]) != screeningId) {
+                return null;
+            }
+            long[] values = new long[valueCount];
+            for (int i = 0; i < valueCount; i++) {
+                values[i] = Long.parseLong(parts[i + 2]);
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String signature(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return ENCODER.encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
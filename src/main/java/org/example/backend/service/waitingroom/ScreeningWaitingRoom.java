@@ -0,0 +1,97 @@
+package org.example.backend.service.waitingroom;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Request-rate counter and FIFO admission queue of one screening.
+ * <p>
+ * The rate is counted in one-second buckets over a short sliding window. The
+ * queue is two counters: tickets are numbered as they are issued and every
+ * drain step moves the admitted mark forward, so a ticket's position is just
+ * its number minus the mark and no list of waiters is kept. Ticket numbers
+ * restart with every room, so tickets also carry the room's epoch.
+ */
+public final class ScreeningWaitingRoom {
+
+    private static final int WINDOW_SECONDS = 10;
+
+    private final long epoch;
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(WINDOW_SECONDS);
+    private final AtomicLongArray bucketSeconds = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong admitted = new AtomicLong();
+    private volatile boolean hot;
+    private volatile long lastRequestSecond;
+
+    public ScreeningWaitingRoom(long epoch) {
+        this.epoch = epoch;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public void recordRequest(long epochSecond) {
+        int index = (int) (epochSecond % WINDOW_SECONDS);
+        long bucketSecond = bucketSeconds.get(index);
+        if (bucketSecond != epochSecond && bucketSeconds.compareAndSet(index, bucketSecond, epochSecond)) {
+            counts.set(index, 0);
+        }
+        counts.incrementAndGet(index);
+        lastRequestSecond = epochSecond;
+    }
+
+    /**
+     * @return the average requests per second over the last complete seconds of the window
+     */
+    public double requestsPerSecond(long epochSecond) {
+        int total = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            long bucketSecond = bucketSeconds.get(i);
+            if (bucketSecond < epochSecond && bucketSecond >= epochSecond - WINDOW_SECONDS) {
+                total += counts.get(i);
+            }
+        }
+        return total / (double) WINDOW_SECONDS;
+    }
+
+    public boolean isHot() {
+        return hot;
+    }
+
+    public void setHot(boolean hot) {
+        this.hot = hot;
+    }
+
+    public long getLastRequestSecond() {
+        return lastRequestSecond;
+    }
+
+    /**
+     * @return the number of the new ticket, starting at 1
+     */
+    public long issueTicket() {
+        return issued.incrementAndGet();
+    }
+
+    /**
+     * @return how many tickets are ahead of this one; 0 once it has been admitted
+     */
+    public long positionOf(long ticket) {
+        return Math.max(0, ticket - admitted.get());
+    }
+
+    public long waiting() {
+        return issued.get() - admitted.get();
+    }
+
+    /**
+     * Admits up to {@code count} more tickets in issue order.
+     */
+    public void drain(int count) {
+        long target = issued.get();
+        admitted.updateAndGet(current -> Math.min(target, current + count));
+    }
+}
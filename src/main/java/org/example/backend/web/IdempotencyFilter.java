@@ -0,0 +1,208 @@
+package org.example.backend.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.backend.exception.ErrorResponse;
+import org.example.backend.service.IdempotencyService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Makes the reservation and checkout POSTs safe to retry. A request carrying an
+ * Idempotency-Key header is executed once per user and key; retries within the
+ * retention window receive the stored response with an Idempotent-Replayed
+ * header. Reusing a key with a different body is rejected with 422, and a retry
+ * that arrives while the first request is still running gets 409.
+ * <p>
+ * Server errors and 429s are not stored, so those requests can be retried.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final List<String> PATTERNS = List.of(
+            "/api/reservations",
+            "/api/reservations/auto",
+            "/api/payments/create-checkout-session/*");
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return PATTERNS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientKey = request.getHeader(HEADER);
+        if (clientKey.isBlank() || clientKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    "The " + HEADER + " header must have between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        String key = sha256((principalName() + ' ' + request.getMethod() + ' ' + request.getRequestURI() + ' ' + clientKey)
+                .getBytes(StandardCharsets.UTF_8));
+        String requestHash = sha256(body);
+
+        IdempotencyService.Decision decision = idempotencyService.begin(key, requestHash);
+        switch (decision.outcome()) {
+            case REPLAY -> {
+                IdempotencyService.StoredResponse stored = decision.response();
+                response.setStatus(stored.status());
+                if (stored.contentType() != null) {
+                    response.setContentType(stored.contentType());
+                }
+                response.setHeader(REPLAYED_HEADER, "true");
+                if (stored.body() != null) {
+                    response.getOutputStream().write(stored.body());
+                }
+            }
+            case MISMATCH -> writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "The " + HEADER + " was already used for a different request");
+            case IN_PROGRESS -> writeError(response, HttpStatus.CONFLICT,
+                    "A request with the same " + HEADER + " is still being processed");
+            case PROCEED -> proceed(new CachedBodyRequest(request, body), response, filterChain, key,
+                    decision.claimedAt(), requestHash);
+        }
+    }
+
+    private void proceed(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+            String key, LocalDateTime claimedAt, String requestHash) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            idempotencyService.abandon(key, claimedAt);
+            throw e;
+        }
+
+        int status = responseWrapper.getStatus();
+        if (isStored(status)) {
+            idempotencyService.complete(key, claimedAt, requestHash, status, responseWrapper.getContentType(),
+                    responseWrapper.getContentAsByteArray());
+        } else {
+            idempotencyService.abandon(key, claimedAt);
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Authentication failures, waiting room rejections and server errors are not
+     * final answers, so retries run again.
+     */
+    private static boolean isStored(int status) {
+        return status < 500
+                && status != HttpStatus.UNAUTHORIZED.value()
+                && status != HttpStatus.FORBIDDEN.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static String principalName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : "anonymous";
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(status.value(), status.getReasonPhrase(), message, LocalDateTime.now()));
+    }
+
+    private static String sha256(byte[] input) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(input));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Request whose body was read up front, so it can be both hashed and parsed by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
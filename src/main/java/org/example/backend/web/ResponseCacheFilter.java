@@ -0,0 +1,130 @@
+package org.example.backend.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.backend.service.ResponseCacheService;
+import org.example.backend.service.ResponseCacheService.CachedResponse;
+import org.example.backend.service.ResponseCacheService.Region;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serves the public catalog GETs from {@link ResponseCacheService}. A hit is
+ * written straight from the stored bytes, gzip-encoded when the client accepts
+ * it; a miss runs the controller and stores its 200 JSON response.
+ * <p>
+ * Runs after authorization, so access rules and CORS headers still apply to
+ * cached responses.
+ * <p>
+ * Only exact paths are cached and none of their handlers read query
+ * parameters, so the path alone is the key: arbitrary query strings cannot
+ * create new entries.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    private static final Map<String, Region> ROUTES = new HashMap<>();
+
+    static {
+        ROUTES.put("/api/home/screenings/today", Region.HOME);
+        ROUTES.put("/api/home/screenings/featured", Region.HOME);
+        ROUTES.put("/api/home/movies/featured", Region.HOME);
+        ROUTES.put("/api/home/movies/current", Region.HOME);
+        ROUTES.put("/api/movies", Region.MOVIES);
+        ROUTES.put("/api/movies/genres", Region.MOVIES);
+        ROUTES.put("/api/rooms/basic", Region.ROOMS);
+    }
+
+    private final ResponseCacheService responseCacheService;
+
+    public ResponseCacheFilter(ResponseCacheService responseCacheService) {
+        this.responseCacheService = responseCacheService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || region(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Region region = region(request);
+        String key = path(request);
+        boolean acceptsGzip = acceptsGzip(request);
+
+        CachedResponse cached = responseCacheService.find(region, key);
+        if (cached != null) {
+            response.setHeader(CACHE_HEADER, "HIT");
+            write(response, cached, acceptsGzip);
+            return;
+        }
+
+        long generation = responseCacheService.generation(region);
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+
+        if (isCacheable(responseWrapper)) {
+            cached = responseCacheService.store(region, key, generation, responseWrapper.getContentType(),
+                    responseWrapper.getContentAsByteArray());
+        }
+        if (cached != null) {
+            response.setHeader(CACHE_HEADER, "MISS");
+            write(response, cached, acceptsGzip);
+        } else {
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private static Region region(HttpServletRequest request) {
+        return ROUTES.get(path(request));
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static boolean isCacheable(ContentCachingResponseWrapper response) {
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && response.getContentType() != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(response.getContentType()))
+                && !response.containsHeader(HttpHeaders.SET_COOKIE);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static void write(HttpServletResponse response, CachedResponse cached, boolean acceptsGzip)
+            throws IOException {
+        byte[] body = cached.body();
+        if (acceptsGzip && cached.gzipBody() != null) {
+            body = cached.gzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
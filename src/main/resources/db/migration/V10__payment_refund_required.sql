@@ -0,0 +1,29 @@
+-- Payments that completed after their reservation was cancelled and whose seats
+-- had been taken meanwhile; they are flagged for refund (PaymentService).
+-- Like V1_1, this tolerates whatever a baselined development database already has:
+-- its status checks may be missing or carry other names, so any check on status goes.
+
+ALTER TABLE payment DROP CONSTRAINT IF EXISTS payment_status_check;
+ALTER TABLE payment_archive DROP CONSTRAINT IF EXISTS payment_archive_status_check;
+
+DO $$
+DECLARE
+    status_check record;
+BEGIN
+    FOR status_check IN
+        SELECT conrelid::regclass AS table_name, conname
+        FROM pg_constraint
+        WHERE contype = 'c'
+          AND conrelid IN ('payment'::regclass, 'payment_archive'::regclass)
+          AND pg_get_constraintdef(oid) LIKE '%status%'
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', status_check.table_name, status_check.conname);
+    END LOOP;
+END
+$$;
+
+ALTER TABLE payment ADD CONSTRAINT payment_status_check
+    CHECK (status IN ('PENDING','SUCCEEDED','FAILED','REFUND_REQUIRED'));
+
+ALTER TABLE payment_archive ADD CONSTRAINT payment_archive_status_check
+    CHECK (status IN ('PENDING','SUCCEEDED','FAILED','REFUND_REQUIRED'));
@@ -0,0 +1,8 @@
+-- Indexes on the reservation and screening tables behind the lease sweep and the
+-- screening listings (see @QueryIndex). Both tables are live when this runs, so the
+-- indexes are built CONCURRENTLY; Flyway runs this script outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservation_status_created_at ON reservation (status, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_screening_room_start_time ON screening (room_id, start_time);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_screening_movie_start_time ON screening (movie_id, start_time);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_screening_start_time ON screening (start_time);
@@ -0,0 +1,58 @@
+-- Objects added to the schema alongside the move to Flyway. Databases created by
+-- Hibernate before that are baselined at version 1 and get them here; every
+-- statement tolerates objects that a development database already has.
+
+ALTER TABLE screening ADD COLUMN IF NOT EXISTS reserved_seat_count integer NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS screening_seat_claim (
+    screening_id   bigint NOT NULL,
+    seat_id        bigint NOT NULL,
+    reservation_id bigint NOT NULL,
+    PRIMARY KEY (screening_id, seat_id)
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_record (
+    idempotency_key varchar(64) NOT NULL,
+    request_hash    varchar(64) NOT NULL,
+    response_status integer,
+    content_type    varchar(100),
+    response_body   bytea,
+    created_at      timestamp(6) NOT NULL,
+    expires_at      timestamp(6) NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+
+CREATE TABLE IF NOT EXISTS reservation_archive (
+    id               bigint NOT NULL,
+    user_id          bigint NOT NULL,
+    screening_id     bigint NOT NULL,
+    reservation_date timestamp(6) NOT NULL,
+    created_at       timestamp(6) NOT NULL,
+    status           varchar(255) NOT NULL CHECK (status IN ('PENDING','CONFIRMED','CANCELLED')),
+    archived_at      timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS seat_reservation_archive (
+    id             bigint NOT NULL,
+    reservation_id bigint NOT NULL,
+    seat_id        bigint NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS payment_archive (
+    id                       bigint NOT NULL,
+    reservation_id           bigint NOT NULL,
+    amount                   numeric(38,2) NOT NULL,
+    payment_date             timestamp(6),
+    status                   varchar(255) NOT NULL CHECK (status IN ('PENDING','SUCCEEDED','FAILED')),
+    stripe_checkout_id       varchar(255),
+    stripe_payment_intent_id varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_record_expires_at ON idempotency_record (expires_at);
+CREATE INDEX IF NOT EXISTS idx_screening_seat_claim_reservation ON screening_seat_claim (reservation_id);
+CREATE INDEX IF NOT EXISTS idx_reservation_archive_user ON reservation_archive (user_id);
+CREATE INDEX IF NOT EXISTS idx_seat_reservation_archive_reservation ON seat_reservation_archive (reservation_id);
+CREATE INDEX IF NOT EXISTS idx_payment_archive_reservation ON payment_archive (reservation_id);
@@ -0,0 +1,146 @@
+-- Schema as generated by Hibernate (ddl-auto=update) before migrations were introduced.
+-- Existing databases are baselined at this version and skip it; new databases start here.
+
+CREATE TABLE genre (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY,
+    name          varchar(255) NOT NULL UNIQUE,
+    tmdb_genre_id integer,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE movie (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY,
+    tmdb_id          integer NOT NULL,
+    imdb_id          varchar(255),
+    title            varchar(255) NOT NULL,
+    description      text,
+    duration_minutes integer,
+    release_date     date,
+    poster_url       varchar(255),
+    backdrop_url     varchar(255),
+    trailer_url      varchar(255),
+    director         varchar(255),
+    language         varchar(255),
+    rating           varchar(10),
+    age_rating       varchar(10),
+    popularity       numeric(38,2),
+    vote_average     numeric(38,2),
+    vote_count       integer,
+    is_active        boolean,
+    is_featured      boolean,
+    added_by         varchar(255),
+    created_at       timestamp(6),
+    updated_at       timestamp(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE movie_genre (
+    movie_id bigint NOT NULL,
+    genre_id bigint NOT NULL,
+    PRIMARY KEY (genre_id, movie_id)
+);
+
+CREATE TABLE movie_tags (
+    movie_id bigint NOT NULL,
+    tag      varchar(255)
+);
+
+CREATE TABLE room (
+    id       bigint GENERATED BY DEFAULT AS IDENTITY,
+    number   integer NOT NULL UNIQUE,
+    rows     integer NOT NULL,
+    columns  integer NOT NULL,
+    capacity integer NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE seat (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY,
+    room_id       bigint,
+    row_label     varchar(255) NOT NULL,
+    column_number integer NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE screening (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY,
+    movie_id      bigint NOT NULL,
+    room_id       bigint NOT NULL,
+    start_time    timestamp(6) NOT NULL,
+    end_time      timestamp(6) NOT NULL,
+    is3d          boolean,
+    has_subtitles boolean,
+    language      varchar(50),
+    format        varchar(50),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE roles (
+    id   bigint GENERATED BY DEFAULT AS IDENTITY,
+    name varchar(20) UNIQUE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY,
+    username     varchar(255) NOT NULL UNIQUE,
+    email        varchar(255) NOT NULL UNIQUE,
+    password     varchar(255) NOT NULL,
+    first_name   varchar(255) NOT NULL,
+    last_name    varchar(255) NOT NULL,
+    phone_number varchar(255),
+    is_active    boolean,
+    last_login   timestamp(6),
+    created_at   timestamp(6),
+    updated_at   timestamp(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE user_role (
+    user_id bigint NOT NULL,
+    role_id bigint NOT NULL,
+    PRIMARY KEY (role_id, user_id)
+);
+
+CREATE TABLE reservation (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY,
+    user_id          bigint NOT NULL,
+    screening_id     bigint NOT NULL,
+    reservation_date timestamp(6) NOT NULL,
+    created_at       timestamp(6) NOT NULL,
+    status           varchar(255) NOT NULL CHECK (status IN ('PENDING','CONFIRMED','CANCELLED')),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE seat_reservation (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY,
+    reservation_id bigint NOT NULL,
+    seat_id        bigint NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE payment (
+    id                       bigint GENERATED BY DEFAULT AS IDENTITY,
+    reservation_id           bigint NOT NULL UNIQUE,
+    amount                   numeric(38,2) NOT NULL,
+    payment_date             timestamp(6),
+    status                   varchar(255) NOT NULL CHECK (status IN ('PENDING','SUCCEEDED','FAILED')),
+    stripe_checkout_id       varchar(255),
+    stripe_payment_intent_id varchar(255),
+    PRIMARY KEY (id)
+);
+
+-- Foreign key names match the ones Hibernate generated
+ALTER TABLE movie_genre ADD CONSTRAINT FK86p3roa187k12avqfl28klp1q FOREIGN KEY (genre_id) REFERENCES genre;
+ALTER TABLE movie_genre ADD CONSTRAINT FKp6vjabv2e2435at1hnuxg64yv FOREIGN KEY (movie_id) REFERENCES movie;
+ALTER TABLE movie_tags ADD CONSTRAINT FKmdk6i2i4unl1ox13tq08p5r3p FOREIGN KEY (movie_id) REFERENCES movie;
+ALTER TABLE payment ADD CONSTRAINT FKrewpj5f9v9xehy4ga8g221nw1 FOREIGN KEY (reservation_id) REFERENCES reservation;
+ALTER TABLE reservation ADD CONSTRAINT FKsus9r7msj3uas10wxl1jvj8xb FOREIGN KEY (screening_id) REFERENCES screening;
+ALTER TABLE reservation ADD CONSTRAINT FKrea93581tgkq61mdl13hehami FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE screening ADD CONSTRAINT FKfp7sh76xc9m508stllspchnp9 FOREIGN KEY (movie_id) REFERENCES movie;
+ALTER TABLE screening ADD CONSTRAINT FKd1m1np9gx570qj5ycbddv7fji FOREIGN KEY (room_id) REFERENCES room;
+ALTER TABLE seat ADD CONSTRAINT FKd7f42843rt05tt66t6vcb7s9u FOREIGN KEY (room_id) REFERENCES room;
+ALTER TABLE seat_reservation ADD CONSTRAINT FKf91e1xknu20nmcd11ag58n5kk FOREIGN KEY (reservation_id) REFERENCES reservation;
+ALTER TABLE seat_reservation ADD CONSTRAINT FK51vmmeopdicuwwwkr0vd85jpo FOREIGN KEY (seat_id) REFERENCES seat;
+ALTER TABLE user_role ADD CONSTRAINT FKt7e7djp752sqn6w22i6ocqy6q FOREIGN KEY (role_id) REFERENCES roles;
+ALTER TABLE user_role ADD CONSTRAINT FKj345gk1bovqvfame88rcx7yyx FOREIGN KEY (user_id) REFERENCES users;
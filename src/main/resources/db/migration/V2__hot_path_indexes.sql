@@ -0,0 +1,15 @@
+-- Indexes behind the repository queries (see @QueryIndex). Built CONCURRENTLY so
+-- they can be applied to a live database; Flyway runs this script outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservation_screening ON reservation (screening_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservation_user ON reservation (user_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_seat_reservation_reservation ON seat_reservation (reservation_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_seat_reservation_seat ON seat_reservation (seat_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_stripe_checkout_id ON payment (stripe_checkout_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_stripe_payment_intent_id ON payment (stripe_payment_intent_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_screening_end_time ON screening (end_time);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_seat_room_row ON seat (room_id, row_label);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movie_tmdb_id ON movie (tmdb_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movie_active ON movie (id) WHERE is_active;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movie_featured ON movie (id) WHERE is_featured;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_genre_tmdb_genre_id ON genre (tmdb_genre_id);
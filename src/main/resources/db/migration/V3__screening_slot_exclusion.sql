@@ -0,0 +1,31 @@
+-- Each screening blocks its room from start_time until end_time plus the 15 minute
+-- cleanup buffer (RoomScheduleService.CLEANUP_BUFFER); slots of a room may not overlap.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE screening ADD COLUMN IF NOT EXISTS slot tsrange
+    GENERATED ALWAYS AS (tsrange(start_time, end_time + interval '15 minutes')) STORED;
+
+-- Older data may hold screenings closer than the cleanup buffer. The migration stops and
+-- lists them instead of starting without the constraint; reschedule them and restart.
+DO $$
+DECLARE
+    overlaps text;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'screening_room_slot_excl') THEN
+        RETURN;
+    END IF;
+
+    SELECT string_agg(format('room %s: screenings %s and %s', a.room_id, a.id, b.id), E'\n' ORDER BY a.room_id, a.id, b.id)
+    INTO overlaps
+    FROM screening a
+    JOIN screening b ON b.room_id = a.room_id AND b.id > a.id AND b.slot && a.slot;
+
+    IF overlaps IS NOT NULL THEN
+        RAISE EXCEPTION 'screening_room_slot_excl cannot be added, these screenings overlap:%', E'\n' || overlaps;
+    END IF;
+
+    ALTER TABLE screening ADD CONSTRAINT screening_room_slot_excl
+        EXCLUDE USING gist (room_id WITH =, slot WITH &&);
+END
+$$;
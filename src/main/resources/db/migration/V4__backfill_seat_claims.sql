@@ -0,0 +1,15 @@
+-- Claims of reservations made before screening_seat_claim existed, and the
+-- reserved seat counters that follow from them.
+
+INSERT INTO screening_seat_claim (screening_id, seat_id, reservation_id)
+SELECT r.screening_id, sr.seat_id, r.id
+FROM seat_reservation sr
+JOIN reservation r ON r.id = sr.reservation_id
+WHERE r.status <> 'CANCELLED'
+ON CONFLICT (screening_id, seat_id) DO NOTHING;
+
+UPDATE screening s
+SET reserved_seat_count = c.seats
+FROM (SELECT screening_id, count(*) AS seats FROM screening_seat_claim GROUP BY screening_id) c
+WHERE c.screening_id = s.id
+  AND s.reserved_seat_count <> c.seats;
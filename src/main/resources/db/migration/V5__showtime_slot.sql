@@ -0,0 +1,102 @@
+-- Read model behind the movie page: one row per screening with everything the
+-- showtime list displays, so a day of showtimes is a single index range scan.
+-- Triggers keep it in step with screening, room and movie, including the
+-- reserved_seat_count changes made by seat claims and releases.
+
+CREATE TABLE showtime_slot (
+    screening_id    bigint NOT NULL REFERENCES screening (id) ON DELETE CASCADE,
+    movie_id        bigint NOT NULL,
+    movie_title     varchar(255) NOT NULL,
+    room_id         bigint NOT NULL,
+    room_number     integer NOT NULL,
+    show_date       date NOT NULL,
+    start_time      time(6) NOT NULL,
+    starts_at       timestamp(6) NOT NULL,
+    format          varchar(50),
+    language        varchar(50),
+    is3d            boolean,
+    has_subtitles   boolean,
+    available_seats integer NOT NULL,
+    PRIMARY KEY (screening_id)
+);
+
+CREATE INDEX idx_showtime_slot_movie_date ON showtime_slot (movie_id, show_date, start_time);
+CREATE INDEX idx_showtime_slot_room ON showtime_slot (room_id);
+
+CREATE FUNCTION showtime_slot_upsert() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO showtime_slot (screening_id, movie_id, movie_title, room_id, room_number, show_date,
+                               start_time, starts_at, format, language, is3d, has_subtitles, available_seats)
+    SELECT NEW.id, NEW.movie_id, m.title, NEW.room_id, r.number, NEW.start_time::date,
+           NEW.start_time::time, NEW.start_time, NEW.format, NEW.language, NEW.is3d, NEW.has_subtitles,
+           r.capacity - NEW.reserved_seat_count
+    FROM movie m, room r
+    WHERE m.id = NEW.movie_id AND r.id = NEW.room_id
+    ON CONFLICT (screening_id) DO UPDATE SET
+        movie_id = EXCLUDED.movie_id,
+        movie_title = EXCLUDED.movie_title,
+        room_id = EXCLUDED.room_id,
+        room_number = EXCLUDED.room_number,
+        show_date = EXCLUDED.show_date,
+        start_time = EXCLUDED.start_time,
+        starts_at = EXCLUDED.starts_at,
+        format = EXCLUDED.format,
+        language = EXCLUDED.language,
+        is3d = EXCLUDED.is3d,
+        has_subtitles = EXCLUDED.has_subtitles,
+        available_seats = EXCLUDED.available_seats;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Seat claims and releases only move the counter, so they only refresh the seat count
+CREATE FUNCTION showtime_slot_update_seats() RETURNS trigger AS $$
+BEGIN
+    UPDATE showtime_slot SET available_seats = (SELECT capacity FROM room WHERE id = NEW.room_id) - NEW.reserved_seat_count
+    WHERE screening_id = NEW.id;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION showtime_slot_update_room() RETURNS trigger AS $$
+BEGIN
+    UPDATE showtime_slot ss SET room_number = NEW.number, available_seats = NEW.capacity - s.reserved_seat_count
+    FROM screening s
+    WHERE ss.room_id = NEW.id AND s.id = ss.screening_id;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION showtime_slot_update_movie() RETURNS trigger AS $$
+BEGIN
+    UPDATE showtime_slot SET movie_title = NEW.title WHERE movie_id = NEW.id;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER showtime_slot_screening_insert AFTER INSERT ON screening
+    FOR EACH ROW EXECUTE FUNCTION showtime_slot_upsert();
+
+CREATE TRIGGER showtime_slot_screening_update AFTER UPDATE OF movie_id, room_id, start_time, format, language,
+    is3d, has_subtitles ON screening
+    FOR EACH ROW EXECUTE FUNCTION showtime_slot_upsert();
+
+CREATE TRIGGER showtime_slot_screening_seats AFTER UPDATE OF reserved_seat_count ON screening
+    FOR EACH ROW WHEN (NEW.reserved_seat_count IS DISTINCT FROM OLD.reserved_seat_count)
+    EXECUTE FUNCTION showtime_slot_update_seats();
+
+CREATE TRIGGER showtime_slot_room_update AFTER UPDATE OF number, capacity ON room
+    FOR EACH ROW WHEN (NEW.number IS DISTINCT FROM OLD.number OR NEW.capacity IS DISTINCT FROM OLD.capacity)
+    EXECUTE FUNCTION showtime_slot_update_room();
+
+CREATE TRIGGER showtime_slot_movie_update AFTER UPDATE OF title ON movie
+    FOR EACH ROW WHEN (NEW.title IS DISTINCT FROM OLD.title)
+    EXECUTE FUNCTION showtime_slot_update_movie();
+
+INSERT INTO showtime_slot (screening_id, movie_id, movie_title, room_id, room_number, show_date,
+                           start_time, starts_at, format, language, is3d, has_subtitles, available_seats)
+SELECT s.id, s.movie_id, m.title, s.room_id, r.number, s.start_time::date, s.start_time::time, s.start_time,
+       s.format, s.language, s.is3d, s.has_subtitles, r.capacity - s.reserved_seat_count
+FROM screening s
+JOIN movie m ON m.id = s.movie_id
+JOIN room r ON r.id = s.room_id;
@@ -0,0 +1,47 @@
+-- Local catalog search: a weighted full-text document per movie (title, director,
+-- tags, description) plus a trigram index on the title for misspelled queries.
+-- The 'simple' configuration is used because titles mix Spanish and English.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE movie ADD COLUMN search_vector tsvector;
+
+CREATE FUNCTION movie_search_document(movie_id bigint, title text, director text, description text)
+    RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(director, '')), 'B')
+        || setweight(to_tsvector('simple', coalesce(
+               (SELECT string_agg(tag, ' ') FROM movie_tags WHERE movie_tags.movie_id = $1), '')), 'B')
+        || setweight(to_tsvector('simple', coalesce(description, '')), 'C');
+$$ LANGUAGE sql STABLE;
+
+CREATE FUNCTION movie_search_vector_refresh() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector := movie_search_document(NEW.id, NEW.title, NEW.director, NEW.description);
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION movie_tags_search_vector_refresh() RETURNS trigger AS $$
+BEGIN
+    UPDATE movie SET search_vector = movie_search_document(id, title, director, description)
+    WHERE id IN (SELECT movie_id FROM changed_tags);
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER movie_search_vector_update BEFORE INSERT OR UPDATE OF title, director, description ON movie
+    FOR EACH ROW EXECUTE FUNCTION movie_search_vector_refresh();
+
+CREATE TRIGGER movie_tags_search_vector_insert AFTER INSERT ON movie_tags
+    REFERENCING NEW TABLE AS changed_tags
+    FOR EACH STATEMENT EXECUTE FUNCTION movie_tags_search_vector_refresh();
+
+CREATE TRIGGER movie_tags_search_vector_delete AFTER DELETE ON movie_tags
+    REFERENCING OLD TABLE AS changed_tags
+    FOR EACH STATEMENT EXECUTE FUNCTION movie_tags_search_vector_refresh();
+
+UPDATE movie SET search_vector = movie_search_document(id, title, director, description);
+
+CREATE INDEX idx_movie_search_vector ON movie USING gin (search_vector);
+CREATE INDEX idx_movie_title_trgm ON movie USING gin (title gin_trgm_ops);
@@ -0,0 +1,4 @@
+-- Tags are read per movie by the autocomplete index and by the search_vector
+-- triggers of V6. Built CONCURRENTLY; Flyway runs this script outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movie_tags_movie ON movie_tags (movie_id);
@@ -0,0 +1,4 @@
+-- movie_genre's primary key leads with genre_id, so genres per movie need their
+-- own index. Built CONCURRENTLY; Flyway runs this script outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movie_genre_movie ON movie_genre (movie_id);
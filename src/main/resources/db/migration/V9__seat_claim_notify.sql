@@ -0,0 +1,19 @@
+-- Tells every application node which screenings had seats claimed or released,
+-- so each can resync its in-memory seat map (SeatClaimNotificationListener).
+-- NOTIFY is delivered on commit and duplicates within a transaction are folded.
+
+CREATE FUNCTION screening_seat_claim_notify() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('seat_claims', screening_id::text)
+    FROM (SELECT DISTINCT screening_id FROM changed_claims) screenings;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER screening_seat_claim_insert_notify AFTER INSERT ON screening_seat_claim
+    REFERENCING NEW TABLE AS changed_claims
+    FOR EACH STATEMENT EXECUTE FUNCTION screening_seat_claim_notify();
+
+CREATE TRIGGER screening_seat_claim_delete_notify AFTER DELETE ON screening_seat_claim
+    REFERENCING OLD TABLE AS changed_claims
+    FOR EACH STATEMENT EXECUTE FUNCTION screening_seat_claim_notify();
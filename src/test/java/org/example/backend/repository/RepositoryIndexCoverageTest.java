@@ -0,0 +1,272 @@
+package org.example.backend.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Subselect;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails when a repository query method has no {@link QueryIndex}, or names an
+ * index that none of the Flyway migrations creates, or an index that cannot
+ * serve it: the index must be on a table the query reads (the entity table,
+ * its collection and association tables, or a table a native query names),
+ * and its leading column must appear in the method name or query. Custom
+ * fragment methods have no query text, so only their table is checked.
+ * Methods inherited from Spring Data (findById, findAll, ...) are not checked,
+ * and neither are the batchInsert methods, which do not search.
+ */
+class RepositoryIndexCoverageTest {
+
+    private static final String REPOSITORY_PACKAGE = "org.example.backend.repository";
+
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "create\\s+(?:unique\\s+)?index\\s+(?:concurrently\\s+)?(?:if\\s+not\\s+exists\\s+)?(\\w+)"
+                    + "\\s+on\\s+(\\w+)(?:\\s+using\\s+\\w+)?\\s*\\(\\s*(\\w+)",
+            Pattern.CASE_INSENSITIVE);
+    // Constraints that are backed by an index; foreign keys and checks are not
+    private static final Pattern ADD_CONSTRAINT = Pattern.compile(
+            "alter\\s+table\\s+(\\w+)\\s+add\\s+constraint\\s+(\\w+)\\s+"
+                    + "(?:unique|primary\\s+key|exclude\\s+using\\s+\\w+)\\s*\\(\\s*(\\w+)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern CREATE_TABLE = Pattern.compile(
+            "create\\s+table\\s+(?:if\\s+not\\s+exists\\s+)?(\\w+)\\s*\\((.*?)\\)\\s*;",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern PRIMARY_KEY = Pattern.compile(
+            "primary\\s+key\\s*\\(\\s*(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern UNIQUE_COLUMN = Pattern.compile(
+            "^\\s*(\\w+)\\s+[^,\\n]*\\bunique\\b", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern PARTIAL_INDEX_PREDICATE = Pattern.compile(
+            "\\)\\s*where\\s+(\\w+)[^;]*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SQL_TABLE = Pattern.compile("\\b(?:from|join)\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * @param predicateColumn first column of a partial index's WHERE clause, which
+     *                        lets the index serve queries filtering on it alone
+     */
+    private record IndexDefinition(String table, String leadingColumn, String predicateColumn) {
+
+        boolean isUsedBy(String normalizedQuery) {
+            return usesColumn(normalizedQuery, leadingColumn)
+                    || (predicateColumn != null && usesColumn(normalizedQuery, predicateColumn));
+        }
+
+        // A foreign key column (room_id) is also matched by its association property (findByRoom)
+        private static boolean usesColumn(String normalizedQuery, String column) {
+            return normalizedQuery.contains(normalize(column))
+                    || (column.endsWith("_id") && normalizedQuery.contains(normalize(column.substring(0, column.length() - 3))));
+        }
+    }
+
+    @Test
+    void everyRepositoryQueryHasASupportingIndex() throws Exception {
+        Map<String, IndexDefinition> indexes = migrationIndexes();
+        assertFalse(indexes.isEmpty(), "No indexes found in db/migration");
+
+        Set<String> problems = new TreeSet<>();
+        List<Class<?>> repositories = repositoryInterfaces();
+        for (Class<?> repository : repositories) {
+            for (Method method : repository.getMethods()) {
+                if (!isQueryMethod(method)) {
+                    continue;
+                }
+                String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+                QueryIndex queryIndex = method.getAnnotation(QueryIndex.class);
+                if (queryIndex == null || queryIndex.value().length == 0) {
+                    problems.add(name + " has no @QueryIndex");
+                    continue;
+                }
+
+                Query query = method.getAnnotation(Query.class);
+                Set<String> tables = entityTables(entityOf(method.getDeclaringClass(), repositories));
+                if (query != null && query.nativeQuery()) {
+                    tables.addAll(sqlTables(query.value()));
+                }
+                // Custom fragments build their query in code, so only the method name is there to check
+                String queryText = normalize(method.getName() + (query != null ? " " + query.value() : ""));
+                boolean hasQueryText = query != null || !method.getDeclaringClass().getSimpleName().endsWith("Custom");
+
+                for (String index : queryIndex.value()) {
+                    IndexDefinition definition = indexes.get(index.toLowerCase());
+                    if (definition == null) {
+                        problems.add(name + " uses " + index + ", which no migration creates");
+                    } else if (!tables.contains(definition.table())) {
+                        problems.add(name + " uses " + index + " on " + definition.table()
+                                + ", which the query does not read (" + tables + ")");
+                    } else if (hasQueryText && !definition.isUsedBy(queryText)) {
+                        problems.add(name + " uses " + index + ", whose leading column "
+                                + definition.leadingColumn() + " the query does not use");
+                    }
+                }
+            }
+        }
+
+        assertTrue(problems.isEmpty(), "Repository queries without a supporting index:\n"
+                + String.join("\n", problems));
+    }
+
+    private static boolean isQueryMethod(Method method) {
+        return method.getDeclaringClass().getPackageName().equals(REPOSITORY_PACKAGE)
+                && Modifier.isAbstract(method.getModifiers())
+                && !method.getName().startsWith("batchInsert");
+    }
+
+    /**
+     * The entity managed by the repository; a custom fragment takes the entity of
+     * the repository that extends it.
+     */
+    private static Class<?> entityOf(Class<?> repository, List<Class<?>> repositories) {
+        Class<?> owner = repository;
+        if (!JpaRepository.class.isAssignableFrom(repository)) {
+            owner = repositories.stream()
+                    .filter(candidate -> candidate != repository && repository.isAssignableFrom(candidate))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError(repository.getSimpleName() + " is not used by any repository"));
+        }
+        Class<?>[] types = GenericTypeResolver.resolveTypeArguments(owner, JpaRepository.class);
+        assertNotNull(types, "Cannot resolve the entity of " + owner.getSimpleName());
+        return types[0];
+    }
+
+    /**
+     * The entity's table (or the tables its subselect reads), its collection and
+     * join tables, and the tables of the entities it is associated with.
+     */
+    private static Set<String> entityTables(Class<?> entity) {
+        Set<String> tables = new HashSet<>(ownTables(entity));
+        for (Field field : entity.getDeclaredFields()) {
+            CollectionTable collectionTable = field.getAnnotation(CollectionTable.class);
+            if (collectionTable != null) {
+                tables.add(collectionTable.name().toLowerCase());
+            }
+            JoinTable joinTable = field.getAnnotation(JoinTable.class);
+            if (joinTable != null) {
+                tables.add(joinTable.name().toLowerCase());
+            }
+            Class<?> target = field.getType();
+            if (field.getGenericType() instanceof ParameterizedType parameterized
+                    && parameterized.getActualTypeArguments()[0] instanceof Class<?> element) {
+                target = element;
+            }
+            if (target.isAnnotationPresent(Entity.class)) {
+                tables.addAll(ownTables(target));
+            }
+        }
+        return tables;
+    }
+
+    private static Set<String> ownTables(Class<?> entity) {
+        Subselect subselect = entity.getAnnotation(Subselect.class);
+        if (subselect != null) {
+            return sqlTables(subselect.value());
+        }
+        Table table = entity.getAnnotation(Table.class);
+        assertNotNull(table, entity.getSimpleName() + " has no @Table");
+        return new HashSet<>(Set.of(table.name().toLowerCase()));
+    }
+
+    private static Set<String> sqlTables(String sql) {
+        Set<String> tables = new HashSet<>();
+        Matcher matcher = SQL_TABLE.matcher(sql);
+        while (matcher.find()) {
+            tables.add(matcher.group(1).toLowerCase());
+        }
+        return tables;
+    }
+
+    // Lets user_id match userId, r.user.id or findByUserId
+    private static String normalize(String text) {
+        return text.toLowerCase().replaceAll("[^a-z0-9]", "");
+    }
+
+    private static List<Class<?>> repositoryInterfaces() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isInterface();
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(Repository.class));
+
+        List<Class<?>> repositories = new ArrayList<>();
+        for (BeanDefinition definition : scanner.findCandidateComponents(REPOSITORY_PACKAGE)) {
+            repositories.add(Class.forName(definition.getBeanClassName()));
+        }
+        assertFalse(repositories.isEmpty(), "No repositories found in " + REPOSITORY_PACKAGE);
+        return repositories;
+    }
+
+    /**
+     * Table and leading column of the indexes and index-backed constraints created
+     * by the migrations, by name, including the names PostgreSQL gives to primary
+     * keys and inline unique constraints.
+     */
+    private static Map<String, IndexDefinition> migrationIndexes() throws IOException {
+        Map<String, IndexDefinition> indexes = new HashMap<>();
+        Resource[] migrations = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/*.sql");
+        for (Resource migration : migrations) {
+            String sql = migration.getContentAsString(StandardCharsets.UTF_8).replaceAll("--[^\\n]*", "");
+            Matcher index = CREATE_INDEX.matcher(sql);
+            while (index.find()) {
+                int end = sql.indexOf(';', index.end());
+                Matcher predicate = PARTIAL_INDEX_PREDICATE.matcher(sql.substring(index.end(), end < 0 ? sql.length() : end));
+                indexes.put(index.group(1).toLowerCase(), new IndexDefinition(index.group(2).toLowerCase(),
+                        index.group(3).toLowerCase(), predicate.find() ? predicate.group(1).toLowerCase() : null));
+            }
+            Matcher constraint = ADD_CONSTRAINT.matcher(sql);
+            while (constraint.find()) {
+                indexes.put(constraint.group(2).toLowerCase(), definition(constraint.group(1), constraint.group(3)));
+            }
+
+            Matcher table = CREATE_TABLE.matcher(sql);
+            while (table.find()) {
+                String tableName = table.group(1).toLowerCase();
+                Matcher primaryKey = PRIMARY_KEY.matcher(table.group(2));
+                if (primaryKey.find()) {
+                    indexes.put(tableName + "_pkey", definition(tableName, primaryKey.group(1)));
+                }
+                Matcher unique = UNIQUE_COLUMN.matcher(table.group(2));
+                while (unique.find()) {
+                    String column = unique.group(1).toLowerCase();
+                    indexes.put(tableName + "_" + column + "_key", definition(tableName, column));
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private static IndexDefinition definition(String table, String leadingColumn) {
+        return new IndexDefinition(table.toLowerCase(), leadingColumn.toLowerCase(), null);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.backend.service;
+
+import org.example.backend.model.enums.ReservationStatus;
+import org.example.backend.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that the leases of PENDING reservations are restored from
+ * {@code findLeasesByStatus} at startup and expire against their original
+ * creation time.
+ */
+class ReservationLeaseServiceTest {
+
+    private ReservationRepository reservationRepository;
+    private ReservationCleanupService reservationCleanupService;
+    private ReservationLeaseService service;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        reservationCleanupService = mock(ReservationCleanupService.class);
+        service = new ReservationLeaseService(reservationRepository, reservationCleanupService);
+        ReflectionTestUtils.setField(service, "pendingTimeoutMinutes", 15);
+    }
+
+    @Test
+    void rebuildExpiresLeasesWhoseDeadlinePassedWhileDown() {
+        LocalDateTime now = LocalDateTime.now();
+        when(reservationRepository.findLeasesByStatus(ReservationStatus.PENDING)).thenReturn(List.of(
+                lease(1L, now.minusMinutes(20)),
+                lease(2L, now.minusMinutes(5)),
+                lease(3L, now)));
+
+        service.rebuildLeases();
+        service.expireLeases();
+
+        verify(reservationCleanupService).expireReservations(List.of(1L));
+
+        // Only the overdue lease fires; the others are still held
+        service.expireLeases();
+        verifyNoMoreInteractions(reservationCleanupService);
+    }
+
+    @Test
+    void rebuildDoesNothingWithoutPendingReservations() {
+        when(reservationRepository.findLeasesByStatus(ReservationStatus.PENDING)).thenReturn(List.of());
+
+        service.rebuildLeases();
+        service.expireLeases();
+
+        verify(reservationCleanupService, never()).expireReservations(anyCollection());
+    }
+
+    @Test
+    void releasedLeaseDoesNotExpire() {
+        when(reservationRepository.findLeasesByStatus(ReservationStatus.PENDING)).thenReturn(List.of(
+                lease(1L, LocalDateTime.now().minusMinutes(20)),
+                lease(2L, LocalDateTime.now().minusMinutes(30))));
+
+        service.rebuildLeases();
+        service.release(1L);
+        service.expireLeases();
+
+        verify(reservationCleanupService).expireReservations(List.of(2L));
+    }
+
+    private static ReservationRepository.LeaseView lease(Long id, LocalDateTime createdAt) {
+        return new ReservationRepository.LeaseView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+        };
+    }
+}
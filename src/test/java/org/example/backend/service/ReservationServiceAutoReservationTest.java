@@ -0,0 +1,128 @@
+package org.example.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.backend.dto.AutoReservationDTO;
+import org.example.backend.exception.SeatNotAvailableException;
+import org.example.backend.model.Reservation;
+import org.example.backend.model.Room;
+import org.example.backend.model.Screening;
+import org.example.backend.model.Seat;
+import org.example.backend.model.User;
+import org.example.backend.repository.*;
+import org.example.backend.service.inventory.RoomLayout;
+import org.example.backend.service.inventory.ScreeningSeatMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that an automatic reservation whose claim loses seats to a concurrent
+ * reservation drops its claim, treats those seats as taken and searches again.
+ */
+class ReservationServiceAutoReservationTest {
+
+    private static final long SCREENING_ID = 10L;
+    private static final long RESERVATION_ID = 100L;
+
+    private ReservationRepository reservationRepository;
+    private SeatClaimService seatClaimService;
+    private SeatReservationRepository seatReservationRepository;
+    private ReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        ScreeningRepository screeningRepository = mock(ScreeningRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        SeatInventoryService seatInventoryService = mock(SeatInventoryService.class);
+        seatClaimService = mock(SeatClaimService.class);
+        seatReservationRepository = mock(SeatReservationRepository.class);
+
+        service = new ReservationService(reservationRepository, screeningRepository, mock(SeatRepository.class),
+                userRepository, mock(PaymentRepository.class), seatInventoryService, seatClaimService,
+                seatReservationRepository, mock(EntityManager.class), mock(ReservationLeaseService.class),
+                mock(ReservationHistoryRepository.class));
+
+        // One row of ten seats with ids 1..10
+        Room room = new Room();
+        room.setId(1L);
+        room.setRows(1);
+        room.setColumns(10);
+        List<Seat> seats = new ArrayList<>();
+        for (int column = 1; column <= 10; column++) {
+            Seat seat = new Seat("A", column, room);
+            seat.setId((long) column);
+            seats.add(seat);
+        }
+
+        Screening screening = new Screening();
+        screening.setId(SCREENING_ID);
+        screening.setRoom(room);
+        screening.setStartTime(LocalDateTime.now().plusDays(1));
+        screening.setEndTime(LocalDateTime.now().plusDays(1).plusHours(2));
+
+        ScreeningSeatMap seatMap = new ScreeningSeatMap(SCREENING_ID, RoomLayout.of(room, seats),
+                screening.getEndTime());
+        seatMap.completeLoad(List.of());
+
+        when(userRepository.existsById(5L)).thenReturn(true);
+        when(userRepository.getReferenceById(5L)).thenReturn(new User());
+        when(screeningRepository.findById(SCREENING_ID)).thenReturn(Optional.of(screening));
+        when(seatInventoryService.getSeatMap(SCREENING_ID)).thenReturn(seatMap);
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            reservation.setId(RESERVATION_ID);
+            return reservation;
+        });
+    }
+
+    @Test
+    void searchesAgainWithoutConflictingSeats() {
+        // The centre pair is seats 5 and 6; seat 6 was taken since the snapshot
+        when(seatClaimService.claim(SCREENING_ID, RESERVATION_ID, List.of(5L, 6L))).thenReturn(List.of(6L));
+        when(seatClaimService.claim(SCREENING_ID, RESERVATION_ID, List.of(4L, 5L))).thenReturn(List.of());
+
+        service.createAutoReservation(new AutoReservationDTO(5L, SCREENING_ID, 2));
+
+        verify(seatClaimService).releaseReservation(RESERVATION_ID);
+        verify(seatClaimService, times(2)).claim(eq(SCREENING_ID), eq(RESERVATION_ID), anyCollection());
+        verify(seatReservationRepository).batchInsert(RESERVATION_ID, List.of(4L, 5L));
+        verify(reservationRepository, times(1)).save(any(Reservation.class));
+    }
+
+    @Test
+    void failsWhenConflictsLeaveNoBlock() {
+        // A party of ten needs the whole row, so losing any seat leaves nothing to retry
+        when(seatClaimService.claim(eq(SCREENING_ID), eq(RESERVATION_ID), anyCollection())).thenReturn(List.of(3L));
+
+        assertThrows(SeatNotAvailableException.class,
+                () -> service.createAutoReservation(new AutoReservationDTO(5L, SCREENING_ID, 10)));
+
+        verify(seatClaimService, times(1)).claim(eq(SCREENING_ID), eq(RESERVATION_ID), anyCollection());
+        verify(seatClaimService).releaseReservation(RESERVATION_ID);
+        verify(seatReservationRepository, never()).batchInsert(anyLong(), anyCollection());
+    }
+
+    @Test
+    void givesUpAfterRepeatedConflicts() {
+        when(seatClaimService.claim(eq(SCREENING_ID), eq(RESERVATION_ID), anyCollection())).thenAnswer(invocation -> {
+            List<Long> seatIds = new ArrayList<>(invocation.getArgument(2));
+            return List.of(seatIds.get(0));
+        });
+
+        assertThrows(SeatNotAvailableException.class,
+                () -> service.createAutoReservation(new AutoReservationDTO(5L, SCREENING_ID, 2)));
+
+        verify(seatClaimService, times(3)).claim(eq(SCREENING_ID), eq(RESERVATION_ID), anyCollection());
+        verify(seatClaimService, times(3)).releaseReservation(RESERVATION_ID);
+        verify(seatReservationRepository, never()).batchInsert(anyLong(), anyCollection());
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.backend.dto.ReservationCreateDTO;
+import org.example.backend.model.Reservation;
+import org.example.backend.model.Room;
+import org.example.backend.model.Screening;
+import org.example.backend.model.Seat;
+import org.example.backend.model.User;
+import org.example.backend.repository.*;
+import org.example.backend.security.service.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that creating a reservation calls its repositories and services the
+ * same number of times however many seats it holds, so nothing on the path is
+ * called once per seat. The collaborators are mocks: this counts calls, not
+ * SQL statements, and says nothing about how many statements a single call
+ * such as claim, batchInsert or refresh sends to the database.
+ */
+class ReservationServiceCallCountTest {
+
+    private static final int[] SEAT_COUNTS = { 1, 2, 10, 50, 200 };
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void collaboratorCallsStayConstantAsSeatCountGrows() {
+        Map<Integer, Long> callsBySeatCount = new LinkedHashMap<>();
+        for (int seatCount : SEAT_COUNTS) {
+            callsBySeatCount.put(seatCount, countCalls(seatCount));
+        }
+
+        long expected = callsBySeatCount.get(SEAT_COUNTS[0]);
+        callsBySeatCount.forEach((seats, calls) ->
+                assertEquals(expected, calls, "collaborator calls for " + seats + " seats"));
+    }
+
+    private long countCalls(int seatCount) {
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        ScreeningRepository screeningRepository = mock(ScreeningRepository.class);
+        SeatRepository seatRepository = mock(SeatRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        PaymentRepository paymentRepository = mock(PaymentRepository.class);
+        SeatClaimService seatClaimService = mock(SeatClaimService.class);
+        SeatReservationRepository seatReservationRepository = mock(SeatReservationRepository.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        ReservationLeaseService reservationLeaseService = mock(ReservationLeaseService.class);
+        ReservationHistoryRepository reservationHistoryRepository = mock(ReservationHistoryRepository.class);
+
+        ReservationService service = new ReservationService(reservationRepository, screeningRepository,
+                seatRepository, userRepository, paymentRepository, mock(SeatInventoryService.class),
+                seatClaimService, seatReservationRepository, entityManager, reservationLeaseService,
+                reservationHistoryRepository);
+
+        Room room = new Room();
+        room.setId(1L);
+        Screening screening = new Screening();
+        screening.setId(10L);
+        screening.setRoom(room);
+        screening.setStartTime(LocalDateTime.now().plusDays(1));
+        screening.setEndTime(LocalDateTime.now().plusDays(1).plusHours(2));
+
+        List<Long> seatIds = new ArrayList<>();
+        List<Seat> seats = new ArrayList<>();
+        for (long i = 1; i <= seatCount; i++) {
+            Seat seat = new Seat("A", (int) i, room);
+            seat.setId(i);
+            seats.add(seat);
+            seatIds.add(i);
+        }
+
+        when(userRepository.getReferenceById(5L)).thenReturn(new User());
+        when(screeningRepository.findById(10L)).thenReturn(Optional.of(screening));
+        when(seatRepository.findAllById(anyIterable())).thenReturn(seats);
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            reservation.setId(100L);
+            return reservation;
+        });
+        when(seatClaimService.claim(anyLong(), anyLong(), anyCollection())).thenReturn(List.of());
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserDetailsImpl(5L, "user", "user@example.com", "", List.of()), null, List.of()));
+
+        service.createReservation(new ReservationCreateDTO(null, 10L, seatIds));
+
+        return calls(reservationRepository, screeningRepository, seatRepository, userRepository,
+                paymentRepository, seatClaimService, seatReservationRepository, entityManager, reservationLeaseService,
+                reservationHistoryRepository);
+    }
+
+    private static long calls(Object... collaborators) {
+        long count = 0;
+        for (Object collaborator : collaborators) {
+            for (Invocation invocation : mockingDetails(collaborator).getInvocations()) {
+                // getReferenceById only creates a proxy, it does not hit the database
+                if (!invocation.getMethod().getName().equals("getReferenceById")) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
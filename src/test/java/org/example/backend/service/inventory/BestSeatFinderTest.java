@@ -0,0 +1,164 @@
+package org.example.backend.service.inventory;
+
+import org.example.backend.model.Room;
+import org.example.backend.model.Seat;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Covers the word-level row extraction and shift-and in {@link BestSeatFinder},
+ * in particular rows and runs that cross a 64-bit word boundary.
+ */
+class BestSeatFinderTest {
+
+    @Test
+    void findsRowThatStraddlesWordBoundary() {
+        // Row 6 covers ordinals 60..69, split across the first and second word
+        RoomLayout layout = layout(7, 10, Set.of());
+        long[] reserved = reserved(layout, IntStream.range(0, 60).toArray());
+
+        assertArrayEquals(IntStream.rangeClosed(60, 69).toArray(), BestSeatFinder.find(layout, reserved, 10));
+    }
+
+    @Test
+    void findsRunThatCrossesWordBoundaryInsideWideRow() {
+        RoomLayout layout = layout(1, 100, Set.of());
+        long[] reserved = reserved(layout, IntStream.range(0, 100).filter(c -> c < 60 || c > 70).toArray());
+
+        assertArrayEquals(IntStream.rangeClosed(60, 70).toArray(), BestSeatFinder.find(layout, reserved, 11));
+        assertNull(BestSeatFinder.find(layout, reserved, 12));
+    }
+
+    @Test
+    void readsRowsThatStartInsideWord() {
+        // With 65 columns row 1 starts at bit 1 of the second word and ends in the third
+        RoomLayout layout = layout(3, 65, Set.of());
+        long[] reserved = reserved(layout, IntStream.range(0, 3 * 65)
+                .filter(ordinal -> ordinal / 65 != 1 || ordinal % 65 < 62)
+                .toArray());
+
+        assertArrayEquals(new int[] { 65 + 62, 65 + 63, 65 + 64 }, BestSeatFinder.find(layout, reserved, 3));
+        assertNull(BestSeatFinder.find(layout, reserved, 4));
+    }
+
+    @Test
+    void doesNotPlacePartyAcrossGap() {
+        RoomLayout layout = layout(1, 8, Set.of(3));
+        long[] reserved = reserved(layout);
+
+        assertArrayEquals(new int[] { 4, 5, 6, 7 }, BestSeatFinder.find(layout, reserved, 4));
+        assertNull(BestSeatFinder.find(layout, reserved, 5));
+    }
+
+    @Test
+    void fillsWholeRowWhenPartySizeEqualsColumns() {
+        RoomLayout layout = layout(3, 70, Set.of());
+
+        assertArrayEquals(IntStream.range(70, 140).toArray(),
+                BestSeatFinder.find(layout, reserved(layout), 70));
+        assertArrayEquals(IntStream.range(0, 70).toArray(),
+                BestSeatFinder.find(layout, reserved(layout, 100), 70));
+    }
+
+    @Test
+    void rejectsPartySizeOutsideRoom() {
+        RoomLayout layout = layout(2, 10, Set.of());
+
+        assertNull(BestSeatFinder.find(layout, reserved(layout), 0));
+        assertNull(BestSeatFinder.find(layout, reserved(layout), 11));
+    }
+
+    @Test
+    void matchesSeatBySeatSearch() {
+        Random random = new Random(42);
+        for (int columns : new int[] { 1, 63, 64, 65, 100, 130 }) {
+            for (int round = 0; round < 50; round++) {
+                int rows = 1 + random.nextInt(5);
+                RoomLayout layout = layout(rows, columns, randomOrdinals(random, rows * columns, 0.05));
+                long[] reserved = reserved(layout,
+                        randomOrdinals(random, rows * columns, 0.3).stream().mapToInt(Integer::intValue).toArray());
+
+                for (int partySize : new int[] { 1, 2, 5, columns }) {
+                    assertArrayEquals(reference(layout, reserved, partySize),
+                            BestSeatFinder.find(layout, reserved, partySize),
+                            columns + " columns, " + rows + " rows, party of " + partySize);
+                }
+            }
+        }
+    }
+
+    private static int[] reference(RoomLayout layout, long[] reserved, int partySize) {
+        int rows = layout.getRows();
+        int columns = layout.getColumns();
+        double bestScore = Double.MAX_VALUE;
+        int bestOrdinal = -1;
+        for (int row = 0; row < rows; row++) {
+            double rowDistance = rows > 1 ? (row - (rows - 1) / 2.0) / rows : 0;
+            for (int column = 0; column + partySize <= columns; column++) {
+                boolean free = true;
+                for (int i = 0; i < partySize && free; i++) {
+                    int ordinal = row * columns + column + i;
+                    free = layout.seatIdAt(ordinal) != 0 && (reserved[ordinal >>> 6] & (1L << ordinal)) == 0;
+                }
+                if (!free) {
+                    continue;
+                }
+                double columnDistance = (column - (columns - partySize) / 2.0) / columns;
+                double score = rowDistance * rowDistance + columnDistance * columnDistance;
+                if (score < bestScore) {
+                    bestScore = score;
+                    bestOrdinal = row * columns + column;
+                }
+            }
+        }
+        return bestOrdinal < 0 ? null : IntStream.range(bestOrdinal, bestOrdinal + partySize).toArray();
+    }
+
+    private static Set<Integer> randomOrdinals(Random random, int size, double probability) {
+        Set<Integer> ordinals = new HashSet<>();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (random.nextDouble() < probability) {
+                ordinals.add(ordinal);
+            }
+        }
+        return ordinals;
+    }
+
+    /**
+     * Builds a room whose seat ids are ordinal + 1, leaving out the given ordinals.
+     */
+    private static RoomLayout layout(int rows, int columns, Set<Integer> gaps) {
+        Room room = new Room();
+        room.setId(1L);
+        room.setRows(rows);
+        room.setColumns(columns);
+
+        List<Seat> seats = new ArrayList<>();
+        for (int ordinal = 0; ordinal < rows * columns; ordinal++) {
+            if (gaps.contains(ordinal)) {
+                continue;
+            }
+            Seat seat = new Seat(String.valueOf((char) ('A' + ordinal / columns)), ordinal % columns + 1, room);
+            seat.setId(ordinal + 1L);
+            seats.add(seat);
+        }
+        return RoomLayout.of(room, seats);
+    }
+
+    private static long[] reserved(RoomLayout layout, int... ordinals) {
+        long[] words = new long[(layout.size() + 63) >>> 6];
+        for (int ordinal : ordinals) {
+            words[ordinal >>> 6] |= 1L << ordinal;
+        }
+        return words;
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.backend.service.lease;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Uses ticks of 10 ms and four slots per level, so level 0 spans 40 ms, level 1
+ * spans 160 ms and level 2 spans 640 ms.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 4;
+
+    @Test
+    void expiresEntryOnLevelZero() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 0);
+        wheel.schedule(1, 30);
+
+        assertEquals(List.of(), wheel.advance(29));
+        assertEquals(List.of(1L), wheel.advance(30));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void roundsDeadlineUpToNextTick() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 0);
+        wheel.schedule(1, 21);
+
+        assertEquals(List.of(), wheel.advance(29));
+        assertEquals(List.of(1L), wheel.advance(30));
+    }
+
+    @Test
+    void cascadesFromLevelOne() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 0);
+        wheel.schedule(1, 100);
+
+        // The entry moves down to level 0 at 80 and must not fire early
+        assertEquals(List.of(), wheel.advance(80));
+        assertEquals(List.of(), wheel.advance(99));
+        assertEquals(List.of(1L), wheel.advance(100));
+    }
+
+    @Test
+    void cascadesFromLevelTwoThroughLevelOne() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 50);
+        wheel.schedule(1, 200);
+        wheel.schedule(2, 500);
+
+        assertEquals(List.of(), wheel.advance(199));
+        assertEquals(List.of(1L), wheel.advance(200));
+        assertEquals(List.of(), wheel.advance(499));
+        assertEquals(List.of(2L), wheel.advance(500));
+    }
+
+    @Test
+    void expiresInOneLargeAdvance() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 0);
+        wheel.schedule(1, 30);
+        wheel.schedule(2, 150);
+        wheel.schedule(3, 600);
+        wheel.schedule(4, 1000);
+
+        assertEquals(List.of(1L, 2L, 3L), wheel.advance(900));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void cancelBeforeCascade() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 0);
+        wheel.schedule(1, 100);
+
+        assertTrue(wheel.cancel(1));
+        assertEquals(List.of(), wheel.advance(200));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelAfterCascade() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 0);
+        wheel.schedule(1, 100);
+        wheel.advance(85);
+
+        assertTrue(wheel.cancel(1));
+        assertFalse(wheel.cancel(1));
+        assertEquals(List.of(), wheel.advance(200));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rescheduleReplacesDeadline() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 0);
+        wheel.schedule(1, 100);
+        wheel.schedule(1, 300);
+
+        assertEquals(List.of(), wheel.advance(299));
+        assertEquals(List.of(1L), wheel.advance(300));
+    }
+
+    @Test
+    void expiresOverdueEntryOnNextAdvance() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 100);
+        wheel.schedule(1, 50);
+        wheel.schedule(2, 100);
+
+        assertEquals(2, wheel.size());
+        assertEquals(List.of(1L, 2L), wheel.advance(100));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelOverdueEntry() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 100);
+        wheel.schedule(1, 50);
+
+        assertTrue(wheel.cancel(1));
+        assertEquals(List.of(), wheel.advance(100));
+    }
+
+    @Test
+    void matchesDeadlineMap() {
+        Random random = new Random(7);
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 3);
+        Map<Long, Long> slotTimes = new HashMap<>();
+        long now = 3;
+
+        for (int step = 0; step < 2000; step++) {
+            long id = random.nextInt(50);
+            int action = random.nextInt(10);
+            if (action < 5) {
+                long deadline = now - 20 + random.nextInt(1000);
+                wheel.schedule(id, deadline);
+                // Entries already due fire on the next advance, which is never before now
+                slotTimes.put(id, ((deadline + TICK - 1) / TICK) * TICK);
+            } else if (action < 7) {
+                assertEquals(slotTimes.remove(id) != null, wheel.cancel(id));
+            } else {
+                now += random.nextInt(60);
+                List<Long> expected = new ArrayList<>();
+                long limit = now;
+                slotTimes.forEach((key, slotTime) -> {
+                    if (slotTime <= limit) {
+                        expected.add(key);
+                    }
+                });
+                expected.forEach(slotTimes::remove);
+
+                List<Long> expired = new ArrayList<>(wheel.advance(now));
+                expired.sort(null);
+                expected.sort(null);
+                assertEquals(expected, expired, "advance to " + now);
+            }
+            assertEquals(slotTimes.size(), wheel.size());
+        }
+    }
+}